@@ -0,0 +1,92 @@
+package com.smartcampus.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Response bodies of cached GETs, bounded by total body size (app.response-cache.max-size).
+ * Each entry expires after its route's ttl; events invalidate a route for one tenant early.
+ * Hit/miss/eviction counts are exposed as cache.* metrics with cache=gateway.response
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCache {
+
+    private final Cache<Key, CachedResponse> cache;
+    // Bumped on every invalidation, so a response fetched before an invalidation is never stored after it
+    private final AtomicLong generation = new AtomicLong();
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.maxSize().toBytes())
+                .weigher((Key key, CachedResponse response) -> response.body().length + key.pathAndQuery().length())
+                .expireAfter(new TtlExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway.response");
+    }
+
+    public CachedResponse get(Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Stores the response unless an invalidation happened since generation() was read for it.
+     */
+    public void put(Key key, CachedResponse response, long fetchedAtGeneration) {
+        if (generation.get() == fetchedAtGeneration) {
+            cache.put(key, response);
+        }
+    }
+
+    /**
+     * Drops every entry of the route for the tenant, or for all tenants if tenantId is null.
+     */
+    public void invalidate(String routeId, String tenantId) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.routeId().equals(routeId)
+                && (tenantId == null || Objects.equals(key.tenantId(), tenantId)));
+        log.debug("Invalidated cached responses of {} for tenant {}", routeId, tenantId != null ? tenantId : "*");
+    }
+
+    /**
+     * user is null unless the route caches per user.
+     */
+    public record Key(String routeId, String tenantId, String role, String user, String pathAndQuery) {
+    }
+
+    public record CachedResponse(byte[] body, String contentType, String etag, long ttlNanos) {
+    }
+
+    private static final class TtlExpiry implements Expiry<Key, CachedResponse> {
+
+        @Override
+        public long expireAfterCreate(Key key, CachedResponse response, long currentTime) {
+            return response.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, CachedResponse response, long currentTime, long currentDuration) {
+            return response.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(Key key, CachedResponse response, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
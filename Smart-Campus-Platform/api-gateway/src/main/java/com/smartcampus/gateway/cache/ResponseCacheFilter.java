@@ -0,0 +1,184 @@
+package com.smartcampus.gateway.cache;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Serves the GET paths configured under app.response-cache.routes from ResponseCache.
+ * Keys include route, tenant, role (and user for per-user routes), path and query.
+ * Every cacheable response carries a content-hash ETag, and a matching If-None-Match gets 304.
+ * Successful writes through the gateway invalidate the route for the tenant right away;
+ * ResponseCacheInvalidationListener does the same for events from the services.
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    private static final String CACHE_HEADER = "X-Cache";
+    // Tenant-specific: browsers may keep it but must revalidate with If-None-Match
+    private static final String CACHE_CONTROL = "private, no-cache";
+
+    private final ResponseCache cache;
+    private final ResponseCacheProperties properties;
+    private final Map<String, List<PathPattern>> patterns;
+
+    public ResponseCacheFilter(ResponseCache cache, ResponseCacheProperties properties) {
+        this.cache = cache;
+        this.properties = properties;
+        this.patterns = properties.routes().entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().paths().stream()
+                        .map(PathPatternParser.defaultInstance::parse)
+                        .toList()));
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!properties.enabled() || route == null || !properties.routes().containsKey(route.getId())) {
+            return chain.filter(exchange);
+        }
+
+        ServerHttpRequest request = exchange.getRequest();
+        String tenantId = request.getHeaders().getFirst("X-Tenant-Id");
+        if (request.getMethod() != HttpMethod.GET) {
+            // Covers changes that publish no event, without waiting for the broker
+            return chain.filter(exchange).doOnSuccess(v -> {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                if (status != null && status.is2xxSuccessful()) {
+                    cache.invalidate(route.getId(), tenantId);
+                }
+            });
+        }
+
+        ResponseCacheProperties.RouteRule rule = properties.routes().get(route.getId());
+        if (tenantId == null || patterns.get(route.getId()).stream().noneMatch(p -> p.matches(request.getPath().pathWithinApplication()))) {
+            return chain.filter(exchange);
+        }
+
+        String query = request.getURI().getRawQuery();
+        ResponseCache.Key key = new ResponseCache.Key(route.getId(), tenantId,
+                request.getHeaders().getFirst("X-Role"),
+                rule.perUser() ? request.getHeaders().getFirst("X-User") : null,
+                request.getURI().getRawPath() + (query != null ? "?" + query : ""));
+
+        ResponseCache.CachedResponse cached = cache.get(key);
+        if (cached != null) {
+            return writeCached(exchange, cached);
+        }
+        CachingResponse caching = new CachingResponse(exchange, key, rule, cache.generation());
+        return chain.filter(exchange.mutate().response(caching).build());
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, ResponseCache.CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(cached.etag());
+        headers.setCacheControl(CACHE_CONTROL);
+        headers.set(CACHE_HEADER, "HIT");
+        if (etagMatches(exchange.getRequest(), cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        if (cached.contentType() != null) {
+            headers.set(HttpHeaders.CONTENT_TYPE, cached.contentType());
+        }
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private static boolean etagMatches(ServerHttpRequest request, String etag) {
+        List<String> ifNoneMatch = request.getHeaders().getIfNoneMatch();
+        return ifNoneMatch.contains(etag) || ifNoneMatch.contains("*");
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        // After the quota check and before PriorityFilter, so a hit never waits for an upstream slot.
+        // Still wraps the response before NettyWriteResponseFilter writes the upstream body into it.
+        return Ordered.HIGHEST_PRECEDENCE + 150;
+    }
+
+    /**
+     * Buffers a 200 upstream body, stores it, and answers with the ETag (or 304) instead.
+     */
+    private class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerWebExchange exchange;
+        private final ResponseCache.Key key;
+        private final ResponseCacheProperties.RouteRule rule;
+        private final long generation;
+
+        CachingResponse(ServerWebExchange exchange, ResponseCache.Key key,
+                        ResponseCacheProperties.RouteRule rule, long generation) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.key = key;
+            this.rule = rule;
+            this.generation = generation;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (getStatusCode() == null || getStatusCode().value() != HttpStatus.OK.value()) {
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(body).flatMap(buffer -> {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                DataBufferUtils.release(buffer);
+
+                HttpHeaders headers = getHeaders();
+                String etag = etag(bytes);
+                cache.put(key, new ResponseCache.CachedResponse(bytes, headers.getFirst(HttpHeaders.CONTENT_TYPE),
+                        etag, rule.ttl().toNanos()), generation);
+
+                headers.setETag(etag);
+                headers.setCacheControl(CACHE_CONTROL);
+                headers.set(CACHE_HEADER, "MISS");
+                headers.remove(HttpHeaders.TRANSFER_ENCODING);
+                if (etagMatches(exchange.getRequest(), etag)) {
+                    headers.remove(HttpHeaders.CONTENT_LENGTH);
+                    setStatusCode(HttpStatus.NOT_MODIFIED);
+                    return setComplete();
+                }
+                headers.setContentLength(bytes.length);
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+    }
+}
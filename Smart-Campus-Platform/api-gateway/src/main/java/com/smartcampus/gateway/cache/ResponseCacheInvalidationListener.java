@@ -0,0 +1,45 @@
+package com.smartcampus.gateway.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Invalidates cached responses of every route whose events exchange published the message.
+ * booking-service sends the bare payload, exam and marketplace wrap it as {eventType, payload, timestamp};
+ * tenantId is read from either, and a message without one invalidates the route for all tenants.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.response-cache.enabled", havingValue = "true")
+public class ResponseCacheInvalidationListener {
+
+    private final ResponseCache cache;
+    private final ResponseCacheProperties properties;
+
+    @RabbitListener(queues = "#{responseCacheInvalidationQueue.name}")
+    public void onEvent(Map<String, Object> message, @Header(AmqpHeaders.RECEIVED_EXCHANGE) String exchange) {
+        String tenantId = tenantId(message);
+        properties.routes().forEach((routeId, rule) -> {
+            if (exchange.equals(rule.events())) {
+                cache.invalidate(routeId, tenantId);
+            }
+        });
+        log.debug("Cache invalidation from {} for tenant {}", exchange, tenantId);
+    }
+
+    private static String tenantId(Map<String, Object> message) {
+        Object tenantId = message.get("tenantId");
+        if (tenantId == null && message.get("payload") instanceof Map<?, ?> payload) {
+            tenantId = payload.get("tenantId");
+        }
+        return tenantId != null ? tenantId.toString() : null;
+    }
+}
@@ -0,0 +1,44 @@
+package com.smartcampus.gateway.cache;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Binds a private auto-delete queue per gateway instance to the services' event fanout exchanges,
+ * so every instance sees every invalidation without competing with notification-service.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.response-cache.enabled", havingValue = "true")
+public class ResponseCacheMessagingConfig {
+
+    @Bean
+    public Queue responseCacheInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Declarables responseCacheBindings(ResponseCacheProperties properties, Queue responseCacheInvalidationQueue) {
+        List<Declarable> declarables = new ArrayList<>();
+        properties.routes().values().stream()
+                .map(ResponseCacheProperties.RouteRule::events)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(name -> {
+                    FanoutExchange exchange = new FanoutExchange(name, true, false);
+                    declarables.add(exchange);
+                    declarables.add(BindingBuilder.bind(responseCacheInvalidationQueue).to(exchange));
+                });
+        return new Declarables(declarables);
+    }
+}
@@ -0,0 +1,37 @@
+package com.smartcampus.gateway.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * app.response-cache.* - which GET paths of which routes are cached, for how long,
+ * and which RabbitMQ event stream (fanout exchange) invalidates them.
+ */
+@ConfigurationProperties(prefix = "app.response-cache")
+public record ResponseCacheProperties(boolean enabled,
+                                      DataSize maxSize,
+                                      Map<String, RouteRule> routes) {
+
+    public ResponseCacheProperties {
+        maxSize = maxSize != null ? maxSize : DataSize.ofMegabytes(16);
+        routes = routes != null ? routes : Map.of();
+    }
+
+    /**
+     * @param paths   gateway-facing path patterns, e.g. /marketplace/tickets
+     * @param ttl     upper bound on staleness if an invalidation event is lost
+     * @param perUser cache per user as well as per tenant and role (responses that depend on the caller)
+     * @param events  fanout exchange whose messages invalidate this route's entries for the event's tenant
+     */
+    public record RouteRule(List<String> paths, Duration ttl, boolean perUser, String events) {
+
+        public RouteRule {
+            paths = paths != null ? paths : List.of();
+            ttl = ttl != null ? ttl : Duration.ofSeconds(30);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.smartcampus.gateway.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.factory.RetryGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-route adaptive concurrency limit (AimdLimiter) with load shedding and a retry budget.
+ * Runs inside the Retry default filter, so every upstream attempt takes a permit.
+ * Excess attempts get 503 with Retry-After straight away. Retries (attempts where Retry has set
+ * retry_iteration) must also fit the route's RetryBudget, so they can add at most
+ * app.concurrency.retry-budget-ratio extra load. A shed or budget-denied attempt also ends
+ * the Retry loop; retrying it would only add load.
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyFilter implements GlobalFilter, Ordered {
+
+    // Pushes Retry's iteration counter past any configured retries, so it stops repeating
+    private static final int STOP_RETRYING = 1_000_000;
+
+    private final boolean enabled;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final Duration latencyThreshold;
+    private final double retryBudgetRatio;
+    private final int retryBudgetMaxSaved;
+    private final String retryAfterSeconds;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<String, RouteState> routes = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyFilter(MeterRegistry meterRegistry,
+                                     @Value("${app.concurrency.enabled:true}") boolean enabled,
+                                     @Value("${app.concurrency.initial-limit:20}") int initialLimit,
+                                     @Value("${app.concurrency.min-limit:2}") int minLimit,
+                                     @Value("${app.concurrency.max-limit:200}") int maxLimit,
+                                     @Value("${app.concurrency.backoff-ratio:0.9}") double backoffRatio,
+                                     @Value("${app.concurrency.latency-threshold:1s}") Duration latencyThreshold,
+                                     @Value("${app.concurrency.retry-budget-ratio:0.1}") double retryBudgetRatio,
+                                     @Value("${app.concurrency.retry-budget-max-saved:10}") int retryBudgetMaxSaved,
+                                     @Value("${app.concurrency.retry-after:1s}") Duration retryAfter) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThreshold = latencyThreshold;
+        this.retryBudgetRatio = retryBudgetRatio;
+        this.retryBudgetMaxSaved = retryBudgetMaxSaved;
+        this.retryAfterSeconds = Long.toString(Math.max(1, retryAfter.toSeconds()));
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!enabled || route == null) {
+            return chain.filter(exchange);
+        }
+        RouteState state = routes.computeIfAbsent(route.getId(), this::newRouteState);
+
+        boolean retry = exchange.getAttribute(RetryGatewayFilterFactory.RETRY_ITERATION_KEY) != null;
+        if (retry) {
+            if (!state.retryBudget.tryRetry()) {
+                state.budgetExhausted.increment();
+                log.debug("Retry budget exhausted for {}", route.getId());
+                return shed(exchange);
+            }
+        } else {
+            state.retryBudget.onRequest();
+        }
+
+        if (!state.limiter.tryAcquire()) {
+            state.shed.increment();
+            log.debug("Shedding request to {} at limit {}", route.getId(), state.limiter.getLimit());
+            return shed(exchange);
+        }
+
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    boolean failed = signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError());
+                    state.limiter.release(System.nanoTime() - start, failed);
+                });
+    }
+
+    private Mono<Void> shed(ServerWebExchange exchange) {
+        exchange.getAttributes().put(RetryGatewayFilterFactory.RETRY_ITERATION_KEY, STOP_RETRYING);
+        exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        // Not setComplete(): Retry still has to see this attempt end, the response is committed after it
+        return Mono.empty();
+    }
+
+    private RouteState newRouteState(String routeId) {
+        AimdLimiter limiter = new AimdLimiter(initialLimit, minLimit, maxLimit, backoffRatio, latencyThreshold.toNanos());
+        Gauge.builder("gateway.concurrency.limit", limiter, AimdLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.in-flight", limiter, AimdLimiter::getInFlight)
+                .description("Upstream calls currently in flight")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return new RouteState(limiter,
+                new RetryBudget(retryBudgetRatio, retryBudgetMaxSaved),
+                Counter.builder("gateway.concurrency.shed")
+                        .description("Requests rejected with 503 by the adaptive concurrency limit")
+                        .tag("route", routeId)
+                        .register(meterRegistry),
+                Counter.builder("gateway.retry.budget.exhausted")
+                        .description("Retries suppressed because the retry budget was spent")
+                        .tag("route", routeId)
+                        .register(meterRegistry));
+    }
+
+    @Override
+    public int getOrder() {
+        // After the Retry default filter, well before the routing filters
+        return 10_000;
+    }
+
+    private record RouteState(AimdLimiter limiter, RetryBudget retryBudget, Counter shed, Counter budgetExhausted) {
+    }
+}
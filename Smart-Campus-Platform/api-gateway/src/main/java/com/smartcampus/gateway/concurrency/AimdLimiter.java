@@ -0,0 +1,56 @@
+package com.smartcampus.gateway.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Additive-increase / multiplicative-decrease concurrency limit for one upstream route.
+ * A call that fails (5xx from the upstream, error) or takes longer than the latency threshold
+ * shrinks the limit by backoffRatio; a fast success while the route is busy grows it by one.
+ */
+public class AimdLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public AimdLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long latencyThresholdNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.limit = new AtomicInteger(initialLimit);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos, boolean failed) {
+        int busy = inFlight.getAndDecrement();
+        if (failed || latencyNanos > latencyThresholdNanos) {
+            limit.updateAndGet(l -> Math.max(minLimit, (int) (l * backoffRatio)));
+        } else if (busy * 2 >= limit.get()) {
+            // Only probe upwards when the current limit is actually being used
+            limit.updateAndGet(l -> Math.min(maxLimit, l + 1));
+        }
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
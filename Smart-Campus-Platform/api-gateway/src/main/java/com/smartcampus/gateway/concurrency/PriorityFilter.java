@@ -0,0 +1,162 @@
+package com.smartcampus.gateway.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Puts every routed request into a priority class (app.priority.classes) and makes it hold one
+ * PriorityScheduler slot for its whole upstream exchange, retries included. Under saturation,
+ * exam start/submit calls are served ahead of exam reads, those ahead of booking and orders,
+ * and IoT polling and marketplace browsing get what is left. A full class queue or a wait longer
+ * than app.priority.queue-timeout is answered with 503. Response cache hits are answered before
+ * this filter runs and take no slot.
+ * Metrics: gateway.priority.queue.depth{class}, gateway.priority.queue.wait{class},
+ * gateway.priority.rejected{class,reason} and gateway.priority.in-flight.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(PriorityProperties.class)
+public class PriorityFilter implements GlobalFilter, Ordered {
+
+    private final PriorityProperties properties;
+    private final PriorityScheduler scheduler;
+    private final List<CompiledMatch> matches = new ArrayList<>();
+    private final Map<String, ClassMeters> meters = new HashMap<>();
+    private final String defaultClass;
+
+    public PriorityFilter(PriorityProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.scheduler = new PriorityScheduler(properties.maxConcurrent(), properties.classes());
+        this.defaultClass = properties.defaultClass() != null ? properties.defaultClass()
+                : properties.classes().keySet().stream().reduce((first, second) -> second).orElse(null);
+        if (properties.enabled() && !properties.classes().containsKey(defaultClass)) {
+            throw new IllegalArgumentException("app.priority.default-class must name one of app.priority.classes");
+        }
+
+        properties.classes().forEach((name, priorityClass) -> {
+            priorityClass.match().forEach(match -> matches.add(new CompiledMatch(name, match.route(),
+                    match.methods(), match.paths().stream().map(PathPatternParser.defaultInstance::parse).toList())));
+            Gauge.builder("gateway.priority.queue.depth", scheduler, s -> s.queueDepth(name))
+                    .description("Requests waiting for an upstream slot")
+                    .tag("class", name)
+                    .register(meterRegistry);
+            meters.put(name, new ClassMeters(
+                    Timer.builder("gateway.priority.queue.wait")
+                            .description("Time spent waiting for an upstream slot")
+                            .tag("class", name)
+                            .register(meterRegistry),
+                    rejected(meterRegistry, name, "queue-full"),
+                    rejected(meterRegistry, name, "timeout")));
+        });
+        Gauge.builder("gateway.priority.in-flight", scheduler, PriorityScheduler::getInFlight)
+                .description("Upstream slots in use")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+        return withSlot(route.getId(), exchange.getRequest(), chain.filter(exchange), Mono.defer(() -> reject(exchange)));
+    }
+
+    /**
+     * Subscribes to call while holding a slot of the class that request to routeId belongs to.
+     * A full queue or a queue timeout switches to rejected instead. Also used by handlers that
+     * call the services without a gateway route, such as /dashboard.
+     */
+    public <T> Mono<T> withSlot(String routeId, ServerHttpRequest request, Mono<T> call, Mono<T> rejected) {
+        if (!properties.enabled()) {
+            return call;
+        }
+        String className = classify(routeId, request);
+        ClassMeters classMeters = meters.get(className);
+
+        return scheduler.acquire(className)
+                .timeout(properties.queueTimeout())
+                .map(Optional::of)
+                // Only queueing failures: errors from the upstream call below must pass through untouched
+                .onErrorResume(e -> {
+                    boolean full = e instanceof RejectedExecutionException;
+                    (full ? classMeters.queueFull() : classMeters.timedOut()).increment();
+                    log.debug("Rejected {} request to {}: {}", className, routeId, full ? "queue full" : "queue timeout");
+                    return Mono.just(Optional.empty());
+                })
+                .flatMap(permit -> {
+                    if (permit.isEmpty()) {
+                        return rejected;
+                    }
+                    classMeters.queueWait().record(permit.get().getQueuedNanos(), TimeUnit.NANOSECONDS);
+                    return call.doFinally(signal -> permit.get().release());
+                });
+    }
+
+    private String classify(String routeId, ServerHttpRequest request) {
+        for (CompiledMatch match : matches) {
+            if (match.matches(routeId, request)) {
+                return match.className();
+            }
+        }
+        return defaultClass;
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER,
+                Long.toString(Math.max(1, properties.queueTimeout().toSeconds())));
+        return exchange.getResponse().setComplete();
+    }
+
+    private static Counter rejected(MeterRegistry meterRegistry, String className, String reason) {
+        return Counter.builder("gateway.priority.rejected")
+                .description("Requests answered with 503 while waiting for an upstream slot")
+                .tag("class", className)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        // After the quota check and ResponseCacheFilter, before the Retry default filter so retries reuse the slot
+        return Ordered.HIGHEST_PRECEDENCE + 200;
+    }
+
+    private record CompiledMatch(String className, String route, List<String> methods, List<PathPattern> paths) {
+
+        boolean matches(String routeId, ServerHttpRequest request) {
+            return (route == null || route.equals(routeId))
+                    && (methods.isEmpty() || methods.contains(request.getMethod().name()))
+                    && (paths.isEmpty() || paths.stream().anyMatch(p -> p.matches(request.getPath().pathWithinApplication())));
+        }
+    }
+
+    private record ClassMeters(Timer queueWait, Counter queueFull, Counter timedOut) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.smartcampus.gateway.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * app.priority.* - priority classes sharing max-concurrent upstream calls. Classes are listed
+ * highest first; a request belongs to the first class with a matching rule, else to default-class.
+ */
+@ConfigurationProperties(prefix = "app.priority")
+public record PriorityProperties(boolean enabled,
+                                 int maxConcurrent,
+                                 Duration queueTimeout,
+                                 String defaultClass,
+                                 Map<String, PriorityClass> classes) {
+
+    public PriorityProperties {
+        maxConcurrent = maxConcurrent > 0 ? maxConcurrent : 256;
+        queueTimeout = queueTimeout != null ? queueTimeout : Duration.ofSeconds(2);
+        classes = classes != null ? classes : Map.of();
+    }
+
+    /**
+     * @param weight        share of freed slots while several classes are queued
+     * @param queueCapacity waiting requests beyond this get 503
+     * @param match         rules selecting this class's requests
+     */
+    public record PriorityClass(int weight, int queueCapacity, List<Match> match) {
+
+        public PriorityClass {
+            weight = Math.max(1, weight);
+            queueCapacity = queueCapacity > 0 ? queueCapacity : 100;
+            match = match != null ? match : List.of();
+        }
+    }
+
+    /**
+     * Empty methods or paths match any; paths are gateway-facing patterns, e.g. /exam/exams/{id}/start.
+     */
+    public record Match(String route, List<String> methods, List<String> paths) {
+
+        public Match {
+            methods = methods != null ? methods : List.of();
+            paths = paths != null ? paths : List.of();
+        }
+    }
+}
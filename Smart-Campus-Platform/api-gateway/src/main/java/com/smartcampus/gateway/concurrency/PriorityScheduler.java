@@ -0,0 +1,168 @@
+package com.smartcampus.gateway.concurrency;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A fixed number of upstream slots shared by priority classes. When all slots are taken, callers
+ * wait in their class's bounded queue; each freed slot goes to a queued caller picked by smooth
+ * weighted round robin over the non-empty queues, so a heavier class gets proportionally more
+ * slots and a light one still never starves.
+ */
+public class PriorityScheduler {
+
+    private final int maxConcurrent;
+    // Declaration order breaks weight ties in favour of the earlier (higher) class
+    private final Map<String, ClassQueue> queues = new LinkedHashMap<>();
+    private int inFlight; // guarded by this
+
+    public PriorityScheduler(int maxConcurrent, Map<String, PriorityProperties.PriorityClass> classes) {
+        this.maxConcurrent = maxConcurrent;
+        classes.forEach((name, c) -> queues.put(name, new ClassQueue(c.weight(), c.queueCapacity())));
+    }
+
+    /**
+     * Emits a permit once the caller holds a slot; release it when the call ends.
+     * Fails with RejectedExecutionException if the class queue is full. Cancelling while queued
+     * leaves the queue.
+     */
+    public Mono<Permit> acquire(String className) {
+        ClassQueue queue = queues.get(className);
+        return Mono.create(sink -> {
+            Waiter waiter;
+            synchronized (this) {
+                if (inFlight < maxConcurrent) {
+                    inFlight++;
+                    waiter = null;
+                } else if (queue.waiters.size() >= queue.capacity) {
+                    sink.error(new RejectedExecutionException("Priority queue " + className + " is full"));
+                    return;
+                } else {
+                    waiter = new Waiter(sink);
+                    queue.waiters.add(waiter);
+                }
+            }
+            if (waiter == null) {
+                sink.success(new Permit(0));
+                return;
+            }
+            sink.onCancel(() -> {
+                if (waiter.state.compareAndSet(Waiter.WAITING, Waiter.CANCELLED)) {
+                    synchronized (this) {
+                        queue.waiters.remove(waiter);
+                    }
+                } else {
+                    // Granted, but cancelled before the permit was delivered
+                    Permit granted;
+                    synchronized (this) {
+                        granted = waiter.permit;
+                    }
+                    granted.release();
+                }
+            });
+        });
+    }
+
+    public synchronized int queueDepth(String className) {
+        return queues.get(className).waiters.size();
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private void release() {
+        Waiter next;
+        synchronized (this) {
+            do {
+                next = pickNext();
+            } while (next != null && !next.state.compareAndSet(Waiter.WAITING, Waiter.GRANTED));
+            if (next == null) {
+                inFlight--;
+                return;
+            }
+            // The slot passes straight to the waiter, inFlight is unchanged
+            next.permit = new Permit(System.nanoTime() - next.enqueuedNanos);
+        }
+        next.sink.success(next.permit);
+    }
+
+    private Waiter pickNext() {
+        ClassQueue best = null;
+        int totalWeight = 0;
+        for (ClassQueue queue : queues.values()) {
+            if (queue.waiters.isEmpty()) {
+                continue;
+            }
+            queue.currentWeight += queue.weight;
+            totalWeight += queue.weight;
+            if (best == null || queue.currentWeight > best.currentWeight) {
+                best = queue;
+            }
+        }
+        if (best == null) {
+            return null;
+        }
+        best.currentWeight -= totalWeight;
+        return best.waiters.poll();
+    }
+
+    /**
+     * One upstream slot; release() is idempotent.
+     */
+    public class Permit {
+
+        private final long queuedNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(long queuedNanos) {
+            this.queuedNanos = queuedNanos;
+        }
+
+        public long getQueuedNanos() {
+            return queuedNanos;
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                PriorityScheduler.this.release();
+            }
+        }
+    }
+
+    private static final class ClassQueue {
+
+        final int weight;
+        final int capacity;
+        final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+        int currentWeight;
+
+        ClassQueue(int weight, int capacity) {
+            this.weight = weight;
+            this.capacity = capacity;
+        }
+    }
+
+    private static final class Waiter {
+
+        static final int WAITING = 0;
+        static final int GRANTED = 1;
+        static final int CANCELLED = 2;
+
+        final MonoSink<Permit> sink;
+        final long enqueuedNanos = System.nanoTime();
+        final AtomicInteger state = new AtomicInteger(WAITING);
+        Permit permit; // guarded by the scheduler
+
+        Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+    }
+}
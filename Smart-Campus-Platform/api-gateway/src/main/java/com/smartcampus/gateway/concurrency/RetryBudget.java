@@ -0,0 +1,39 @@
+package com.smartcampus.gateway.concurrency;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps retries at a fraction of first attempts for one route: every first attempt deposits
+ * ratio of a token, every retry withdraws a whole one. The balance is capped so a quiet
+ * period cannot save up a retry storm.
+ */
+public class RetryBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long depositMillis;
+    private final long capMillis;
+    private final AtomicLong balanceMillis;
+
+    public RetryBudget(double ratio, int maxSaved) {
+        this.depositMillis = Math.round(ratio * SCALE);
+        this.capMillis = maxSaved * SCALE;
+        this.balanceMillis = new AtomicLong(capMillis);
+    }
+
+    public void onRequest() {
+        balanceMillis.updateAndGet(b -> Math.min(capMillis, b + depositMillis));
+    }
+
+    public boolean tryRetry() {
+        while (true) {
+            long current = balanceMillis.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (balanceMillis.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.smartcampus.gateway.config;
 import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
 import reactor.core.publisher.Mono;
 
 @Configuration
@@ -24,17 +26,23 @@ public class RateLimiterConfig {
     }
 
     /**
-     * Alternative: Rate limiting based on username from JWT
-     * Uncomment this if you want to rate limit per user instead of per IP
+     * Rate limiting per authenticated user, then tenant, then IP address.
+     * X-User and X-Tenant-Id are only present after JwtAuthGatewayFilter verified the token.
      */
-    /*
     @Bean
-    public KeyResolver userKeyResolver() {
+    @Primary
+    public KeyResolver principalKeyResolver() {
         return exchange -> {
-            String username = exchange.getRequest().getHeaders().getFirst("X-User-Name");
-            return Mono.just(username != null ? username : "anonymous");
+            HttpHeaders headers = exchange.getRequest().getHeaders();
+            String username = headers.getFirst("X-User");
+            if (username != null) {
+                return Mono.just("user:" + username);
+            }
+            String tenantId = headers.getFirst("X-Tenant-Id");
+            if (tenantId != null) {
+                return Mono.just("tenant:" + tenantId);
+            }
+            return ipAddressKeyResolver().resolve(exchange).map(address -> "ip:" + address);
         };
     }
-    */
 }
-
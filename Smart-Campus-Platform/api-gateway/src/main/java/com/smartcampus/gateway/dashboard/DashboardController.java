@@ -0,0 +1,131 @@
+package com.smartcampus.gateway.dashboard;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.smartcampus.common.security.IdentityHeaderCodec;
+import com.smartcampus.gateway.concurrency.PriorityFilter;
+import com.smartcampus.gateway.ratelimit.HierarchicalQuotaFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * One call for the UI's start page instead of one per service. The request is authenticated once
+ * by JwtAuthGatewayFilter; the configured parts are fetched in parallel with the caller's
+ * credentials, each bounded by its own timeout. A part that fails or times out is reported
+ * under "errors" instead of failing the whole document.
+ * With Accept: application/x-ndjson each part is streamed as soon as it arrives.
+ * Not being a routed request, it passes HierarchicalQuotaFilter and PriorityFilter explicitly: the
+ * quota once as route "dashboard", and each part holds an upstream slot of its route's class.
+ */
+@Slf4j
+@RestController
+@EnableConfigurationProperties(DashboardProperties.class)
+public class DashboardController {
+
+    // Caller identity forwarded to the services, exactly as the gateway routes would
+    private static final List<String> FORWARDED_HEADERS = List.of(
+            HttpHeaders.AUTHORIZATION, IdentityHeaderCodec.HEADER, "X-User", "X-Role", "X-Tenant-Id");
+    // Route id for app.quota.routes and the quota's route layer
+    static final String QUOTA_ROUTE = "dashboard";
+
+    private final DashboardProperties properties;
+    private final RouteLocator routeLocator;
+    private final WebClient webClient;
+    private final HierarchicalQuotaFilter quotaFilter;
+    private final PriorityFilter priorityFilter;
+
+    public DashboardController(DashboardProperties properties, RouteLocator routeLocator, WebClient.Builder webClientBuilder,
+                               HierarchicalQuotaFilter quotaFilter, PriorityFilter priorityFilter) {
+        this.properties = properties;
+        this.routeLocator = routeLocator;
+        this.webClient = webClientBuilder.build();
+        this.quotaFilter = quotaFilter;
+        this.priorityFilter = priorityFilter;
+    }
+
+    @GetMapping(value = "/dashboard", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<Map<String, Object>> dashboard(ServerWebExchange exchange) {
+        if (!quotaFilter.admit(exchange, QUOTA_ROUTE)) {
+            return Mono.empty();
+        }
+        return fetchAll(exchange.getRequest())
+                .collectMap(PartResult::part)
+                .map(results -> {
+                    // Parts in configured order, failures listed under "errors" with a null part
+                    Map<String, Object> document = new LinkedHashMap<>();
+                    Map<String, String> errors = new LinkedHashMap<>();
+                    properties.parts().keySet().forEach(name -> {
+                        PartResult result = results.get(name);
+                        document.put(name, result.data());
+                        if (result.error() != null) {
+                            errors.put(name, result.error());
+                        }
+                    });
+                    document.put("errors", errors);
+                    return document;
+                });
+    }
+
+    @GetMapping(value = "/dashboard", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PartResult> dashboardStream(ServerWebExchange exchange) {
+        if (!quotaFilter.admit(exchange, QUOTA_ROUTE)) {
+            return Flux.empty();
+        }
+        return fetchAll(exchange.getRequest());
+    }
+
+    private Flux<PartResult> fetchAll(ServerHttpRequest request) {
+        HttpHeaders forwarded = new HttpHeaders();
+        FORWARDED_HEADERS.forEach(name -> {
+            String value = request.getHeaders().getFirst(name);
+            if (value != null) {
+                forwarded.set(name, value);
+            }
+        });
+
+        return routeLocator.getRoutes()
+                .collectMap(Route::getId, Route::getUri)
+                .flatMapMany(uris -> Flux.merge(properties.parts().entrySet().stream()
+                        .map(e -> fetch(e.getKey(), e.getValue(), uris.get(e.getValue().route()), request, forwarded))
+                        .toList()));
+    }
+
+    private Mono<PartResult> fetch(String name, DashboardProperties.Part part, URI base,
+                                   ServerHttpRequest request, HttpHeaders forwarded) {
+        if (base == null) {
+            return Mono.just(new PartResult(name, null, "unknown route " + part.route()));
+        }
+        Mono<PartResult> call = webClient.get()
+                .uri(base.resolve(part.path()))
+                .headers(h -> h.addAll(forwarded))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .map(data -> new PartResult(name, data, null));
+        // The part's timeout includes the wait for a slot
+        return priorityFilter.withSlot(part.route(), request, call, Mono.fromSupplier(() -> new PartResult(name, null, "overloaded")))
+                .timeout(part.timeout() != null ? part.timeout() : properties.timeout())
+                .onErrorResume(e -> {
+                    log.debug("Dashboard part {} failed: {}", name, e.getMessage());
+                    return Mono.just(new PartResult(name, null, e instanceof TimeoutException ? "timeout" : e.getMessage()));
+                });
+    }
+
+    public record PartResult(String part, JsonNode data, String error) {
+    }
+}
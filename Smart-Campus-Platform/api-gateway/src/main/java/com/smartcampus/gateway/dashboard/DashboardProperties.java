@@ -0,0 +1,27 @@
+package com.smartcampus.gateway.dashboard;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * app.dashboard.* - the parts of GET /dashboard. Each part is a GET on a configured route's
+ * upstream (base URI taken from the route definition) with its own timeout.
+ */
+@ConfigurationProperties(prefix = "app.dashboard")
+public record DashboardProperties(Duration timeout, Map<String, Part> parts) {
+
+    public DashboardProperties {
+        timeout = timeout != null ? timeout : Duration.ofSeconds(2);
+        parts = parts != null ? parts : Map.of();
+    }
+
+    /**
+     * @param route   gateway route id whose uri is the upstream
+     * @param path    upstream path, as the service sees it (after StripPrefix)
+     * @param timeout overrides app.dashboard.timeout for this part
+     */
+    public record Part(String route, String path, Duration timeout) {
+    }
+}
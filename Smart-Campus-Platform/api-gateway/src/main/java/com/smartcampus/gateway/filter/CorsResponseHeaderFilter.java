@@ -26,7 +26,7 @@ public class CorsResponseHeaderFilter implements WebFilter {
             headers.add(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, "true");
             headers.add(HttpHeaders.ACCESS_CONTROL_ALLOW_METHODS, "GET, POST, PUT, DELETE, OPTIONS, PATCH");
             headers.add(HttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS, "*");
-            headers.add(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, "Authorization, Content-Type");
+            headers.add(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, "Authorization, Content-Type, X-Next-Cursor");
             headers.add(HttpHeaders.ACCESS_CONTROL_MAX_AGE, "3600");
         }
         
@@ -0,0 +1,173 @@
+package com.smartcampus.gateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opt-in per route, for the gateway-facing GET paths listed in args.paths (e.g. /exam/exams/{id}/questions).
+ * Identical GETs for the same tenant and role that arrive while one is already in flight wait
+ * for that upstream call and get a copy of its status, headers and body. Only list paths whose response
+ * does not depend on the caller, or set perUser. Without paths every GET is collapsed, but only per user.
+ * If the leading call fails without a response, the waiting requests go upstream themselves.
+ * Collapsed requests are counted in gateway.singleflight.collapsed{route}.
+ */
+@Component
+public class SingleFlightGatewayFilterFactory extends AbstractGatewayFilterFactory<SingleFlightGatewayFilterFactory.Config> {
+
+    private final ConcurrentHashMap<String, Sinks.One<CapturedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlightGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("perUser");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        List<PathPattern> paths = config.getPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+        boolean perUser = config.isPerUser() || paths.isEmpty();
+        // Wraps the response before NettyWriteResponseFilter copies the upstream body into it
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET
+                    || (!paths.isEmpty() && paths.stream().noneMatch(p -> p.matches(request.getPath().pathWithinApplication())))) {
+                return chain.filter(exchange);
+            }
+
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : "unrouted";
+            String key = key(routeId, request, perUser);
+
+            Sinks.One<CapturedResponse> sink = Sinks.one();
+            Sinks.One<CapturedResponse> leader = inFlight.putIfAbsent(key, sink);
+            if (leader != null) {
+                collapsed(routeId).increment();
+                return leader.asMono()
+                        .flatMap(captured -> write(exchange.getResponse(), captured))
+                        .onErrorResume(e -> chain.filter(exchange));
+            }
+
+            LeaderResponse response = new LeaderResponse(exchange.getResponse(), sink);
+            return chain.filter(exchange.mutate().response(response).build())
+                    .doFinally(signal -> {
+                        inFlight.remove(key, sink);
+                        if (!response.emitted) {
+                            sink.tryEmitError(new IllegalStateException("Leading request produced no response body"));
+                        }
+                    });
+        }, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private static String key(String routeId, ServerHttpRequest request, boolean perUser) {
+        HttpHeaders headers = request.getHeaders();
+        String query = request.getURI().getRawQuery();
+        return routeId + '|' + headers.getFirst("X-Tenant-Id") + '|' + headers.getFirst("X-Role") + '|'
+                + (perUser ? headers.getFirst("X-User") : "") + '|'
+                + request.getURI().getRawPath() + (query != null ? "?" + query : "");
+    }
+
+    private Counter collapsed(String routeId) {
+        return Counter.builder("gateway.singleflight.collapsed")
+                .description("GET requests served from an identical in-flight upstream call")
+                .tag("route", routeId)
+                .register(meterRegistry);
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, CapturedResponse captured) {
+        response.setStatusCode(captured.status());
+        response.getHeaders().putAll(captured.headers());
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(captured.body())));
+    }
+
+    public static class Config {
+
+        private boolean perUser;
+        private List<String> paths = new ArrayList<>();
+
+        public boolean isPerUser() {
+            return perUser;
+        }
+
+        public void setPerUser(boolean perUser) {
+            this.perUser = perUser;
+        }
+
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public void setPaths(List<String> paths) {
+            this.paths = paths;
+        }
+    }
+
+    private record CapturedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+
+    /**
+     * Buffers the upstream body once, hands a copy to the waiting requests and writes it through.
+     */
+    private static class LeaderResponse extends ServerHttpResponseDecorator {
+
+        private final Sinks.One<CapturedResponse> sink;
+        private volatile boolean emitted;
+
+        LeaderResponse(ServerHttpResponse delegate, Sinks.One<CapturedResponse> sink) {
+            super(delegate);
+            this.sink = sink;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return DataBufferUtils.join(body).flatMap(buffer -> {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                DataBufferUtils.release(buffer);
+
+                HttpHeaders headers = getHeaders();
+                headers.remove(HttpHeaders.TRANSFER_ENCODING);
+                headers.setContentLength(bytes.length);
+                HttpHeaders copy = new HttpHeaders();
+                copy.putAll(headers);
+                // CORS headers belong to the leader's caller, cookies are never shared
+                copy.keySet().removeIf(name -> name.regionMatches(true, 0, "Access-Control-", 0, 15)
+                        || name.equalsIgnoreCase(HttpHeaders.SET_COOKIE));
+                emitted = true;
+                sink.tryEmitValue(new CapturedResponse(getStatusCode(), HttpHeaders.readOnlyHttpHeaders(copy), bytes));
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+    }
+}
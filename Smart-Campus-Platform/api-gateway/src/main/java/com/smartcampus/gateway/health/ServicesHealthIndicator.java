@@ -1,24 +1,39 @@
 package com.smartcampus.gateway.health;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.ReactiveHealthIndicator;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
-import java.util.HashMap;
+import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Aggregates health status of all backend microservices
  * Accessible via /actuator/health
+ *
+ * All services are probed in parallel by a background refresher; health() only returns the
+ * latest snapshot, so a slow or dead service never holds up the actuator endpoint.
  */
+@Slf4j
 @Component
 public class ServicesHealthIndicator implements ReactiveHealthIndicator {
 
     private final WebClient webClient;
-    
+    private final Duration timeout;
+    private final Duration refreshInterval;
+
     private final Map<String, String> services = Map.of(
         "auth-service", "http://localhost:8081",
         "booking-service", "http://localhost:8082",
@@ -29,38 +44,100 @@ public class ServicesHealthIndicator implements ReactiveHealthIndicator {
         "iot-service", "http://localhost:8087"
     );
 
-    public ServicesHealthIndicator() {
+    private final Map<String, ServiceStatus> statuses = new ConcurrentHashMap<>();
+    private final AtomicReference<Health> snapshot = new AtomicReference<>();
+    private Disposable refresher;
+
+    public ServicesHealthIndicator(@Value("${app.health.timeout:2s}") Duration timeout,
+                                   @Value("${app.health.refresh-interval:10s}") Duration refreshInterval) {
         this.webClient = WebClient.builder()
                 .build();
+        this.timeout = timeout;
+        this.refreshInterval = refreshInterval;
+    }
+
+    @PostConstruct
+    void startRefresher() {
+        // A sweep is bounded by the per-service timeout; ticks that arrive mid-sweep are dropped
+        refresher = Flux.interval(Duration.ZERO, refreshInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> refresh(), 1)
+                .subscribe(
+                        health -> log.debug("Services health refreshed: {}", health.getStatus()),
+                        e -> log.error("Services health refresher stopped: {}", e.getMessage()));
+    }
+
+    @PreDestroy
+    void stopRefresher() {
+        if (refresher != null) {
+            refresher.dispose();
+        }
     }
 
     @Override
     public Mono<Health> health() {
-        Map<String, String> details = new HashMap<>();
-        
-        // Check each service health
-        return Mono.fromCallable(() -> {
-            services.forEach((name, url) -> {
-                try {
-                    webClient.get()
-                            .uri(url + "/actuator/health")
-                            .retrieve()
-                            .bodyToMono(String.class)
-                            .timeout(Duration.ofSeconds(2))
-                            .block();
-                    details.put(name, "UP");
-                } catch (Exception e) {
-                    details.put(name, "DOWN");
-                }
-            });
-            
-            // Check if any service is down
-            boolean anyDown = details.values().stream().anyMatch(status -> status.equals("DOWN"));
-            
-            return anyDown 
-                ? Health.down().withDetails(details).build()
-                : Health.up().withDetails(details).build();
+        Health current = snapshot.get();
+        // Only the very first probe (before the refresher has completed a sweep) waits on the network
+        return current != null ? Mono.just(current) : refresh();
+    }
+
+    private Mono<Health> refresh() {
+        return Flux.merge(services.entrySet().stream()
+                        .map(e -> probe(e.getKey(), e.getValue()))
+                        .toList())
+                .then(Mono.fromSupplier(this::buildSnapshot))
+                .doOnNext(snapshot::set);
+    }
+
+    private Mono<Void> probe(String name, String url) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return webClient.get()
+                    .uri(url + "/actuator/health")
+                    .retrieve()
+                    .toBodilessEntity()
+                    .timeout(timeout)
+                    .map(response -> "UP")
+                    .onErrorReturn("DOWN")
+                    .doOnNext(status -> record(name, status, Duration.ofNanos(System.nanoTime() - start)))
+                    .then();
         });
     }
-}
 
+    private void record(String name, String status, Duration latency) {
+        Instant now = Instant.now();
+        statuses.compute(name, (key, previous) -> {
+            Instant lastChange = previous != null && previous.status().equals(status) ? previous.lastChange() : now;
+            return new ServiceStatus(status, latency.toMillis(), now, lastChange);
+        });
+    }
+
+    private Health buildSnapshot() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        boolean anyDown = false;
+        for (String name : services.keySet().stream().sorted().toList()) {
+            ServiceStatus status = statuses.get(name);
+            if (status == null) {
+                continue;
+            }
+            anyDown |= status.status().equals("DOWN");
+            details.put(name, status.toDetails());
+        }
+
+        return anyDown
+            ? Health.down().withDetails(details).build()
+            : Health.up().withDetails(details).build();
+    }
+
+    private record ServiceStatus(String status, long latencyMs, Instant lastChecked, Instant lastChange) {
+
+        Map<String, Object> toDetails() {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("status", status);
+            details.put("latencyMs", latencyMs);
+            details.put("lastChecked", lastChecked.toString());
+            details.put("lastChange", lastChange.toString());
+            return details;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.smartcampus.gateway.hedging;
+
+import com.smartcampus.gateway.concurrency.RetryBudget;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Hedged GETs for the routes under app.hedging.routes that list other instances. The request goes
+ * to the route uri as usual; if no response has arrived after the route's recent percentile
+ * latency (never less than min-delay), a second copy goes to the next other instance, and the
+ * first response wins while the other call is cancelled. Hedges draw on a RetryBudget, so they add
+ * at most budget-ratio extra load. A failed hedge is ignored; a failed first call fails the
+ * request as it would without hedging, so Retry still applies.
+ * Takes over from NettyRoutingFilter for these requests, with the same header filters.
+ * Metrics: gateway.hedge.sent{route}, gateway.hedge.won{route},
+ * gateway.hedge.budget.exhausted{route}, gateway.hedge.threshold{route}.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(HedgingProperties.class)
+public class HedgingFilter implements GlobalFilter, Ordered {
+
+    private static final int LATENCY_SAMPLES = 1024;
+
+    private final HedgingProperties properties;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFilters;
+    private final MeterRegistry meterRegistry;
+    private final WebClient webClient;
+    private final Map<String, List<PathPattern>> patterns;
+    private final ConcurrentHashMap<String, RouteState> routes = new ConcurrentHashMap<>();
+
+    public HedgingFilter(HedgingProperties properties, ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                         HttpClient httpClient, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.headersFilters = headersFilters;
+        this.meterRegistry = meterRegistry;
+        // Same connection pool and timeouts as the routing filter
+        this.webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(c -> c.defaultCodecs().maxInMemorySize((int) properties.maxBodySize().toBytes()))
+                .build();
+        this.patterns = properties.routes().entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().paths().stream()
+                        .map(PathPatternParser.defaultInstance::parse)
+                        .toList()));
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        URI requestUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        if (!properties.enabled() || route == null || requestUrl == null
+                || exchange.getRequest().getMethod() != HttpMethod.GET
+                || ServerWebExchangeUtils.isAlreadyRouted(exchange)
+                || !("http".equals(requestUrl.getScheme()) || "https".equals(requestUrl.getScheme()))) {
+            return chain.filter(exchange);
+        }
+        HedgingProperties.RouteHedge rule = properties.routes().get(route.getId());
+        if (rule == null || rule.instances().isEmpty() || !pathMatches(route.getId(), exchange)) {
+            return chain.filter(exchange);
+        }
+        ServerWebExchangeUtils.setAlreadyRouted(exchange);
+
+        RouteState state = routes.computeIfAbsent(route.getId(), id -> newRouteState(id, rule));
+        state.budget.onRequest();
+        HttpHeaders headers = HttpHeadersFilter.filterRequest(headersFilters.getIfAvailable(), exchange);
+        headers.remove(HttpHeaders.HOST);
+
+        long start = System.nanoTime();
+        Mono<Answer> first = call(requestUrl, headers)
+                .doFinally(signal -> {
+                    // A cancelled call is sampled below, when the hedge wins; client aborts are not samples
+                    if (signal != SignalType.CANCEL) {
+                        state.latency.record(System.nanoTime() - start);
+                    }
+                })
+                .map(response -> new Answer(response, false));
+        Mono<Answer> hedge = Mono.delay(Duration.ofNanos(state.thresholdNanos()))
+                .filter(tick -> {
+                    if (state.budget.tryRetry()) {
+                        state.sent.increment();
+                        return true;
+                    }
+                    state.budgetExhausted.increment();
+                    return false;
+                })
+                .flatMap(tick -> call(state.nextInstance(requestUrl), headers))
+                .map(response -> new Answer(response, true))
+                // Only a response can win for the hedge; otherwise the first call decides
+                .switchIfEmpty(Mono.never())
+                .onErrorResume(e -> {
+                    log.debug("Hedged request to {} failed: {}", route.getId(), e.getMessage());
+                    return Mono.never();
+                });
+
+        return Mono.firstWithSignal(first, hedge)
+                .flatMap(answer -> {
+                    if (answer.hedge()) {
+                        state.won.increment();
+                        // The first call took at least this long. Leaving it out would sample only the fast
+                        // calls, and the threshold would sink to min-delay.
+                        state.latency.record(System.nanoTime() - start);
+                    }
+                    return write(exchange, answer.response());
+                });
+    }
+
+    private Mono<ResponseEntity<byte[]>> call(URI url, HttpHeaders headers) {
+        return webClient.get()
+                .uri(url)
+                .headers(h -> h.addAll(headers))
+                .exchangeToMono(response -> response.toEntity(byte[].class));
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, ResponseEntity<byte[]> upstream) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(upstream.getStatusCode());
+        String contentType = upstream.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE);
+        if (contentType != null) {
+            exchange.getAttributes().put(ServerWebExchangeUtils.ORIGINAL_RESPONSE_CONTENT_TYPE_ATTR, contentType);
+        }
+        response.getHeaders().addAll(HttpHeadersFilter.filter(headersFilters.getIfAvailable(),
+                upstream.getHeaders(), exchange, HttpHeadersFilter.Type.RESPONSE));
+        byte[] body = upstream.getBody() != null ? upstream.getBody() : new byte[0];
+        response.getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    private boolean pathMatches(String routeId, ServerWebExchange exchange) {
+        List<PathPattern> routePatterns = patterns.get(routeId);
+        return routePatterns.isEmpty()
+                || routePatterns.stream().anyMatch(p -> p.matches(exchange.getRequest().getPath().pathWithinApplication()));
+    }
+
+    private RouteState newRouteState(String routeId, HedgingProperties.RouteHedge rule) {
+        RouteState state = new RouteState(
+                rule.instances().stream().map(URI::create).toList(),
+                new LatencyTracker(LATENCY_SAMPLES, properties.percentile(), properties.initialDelay().toNanos()),
+                new RetryBudget(properties.budgetRatio(), properties.budgetMaxSaved()),
+                properties.minDelay().toNanos(),
+                counter("gateway.hedge.sent", "Second requests sent to another instance", routeId),
+                counter("gateway.hedge.won", "Requests answered by the second request", routeId),
+                counter("gateway.hedge.budget.exhausted", "Second requests skipped because the hedge budget was spent", routeId));
+        Gauge.builder("gateway.hedge.threshold", state, s -> s.thresholdNanos() / 1e9)
+                .description("Current delay before a second request is sent")
+                .tag("route", routeId)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        return state;
+    }
+
+    private Counter counter(String name, String description, String routeId) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("route", routeId)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        // After RouteToRequestUrlFilter and the concurrency limit, right before NettyRoutingFilter
+        return NettyRoutingFilter.ORDER - 1;
+    }
+
+    private record Answer(ResponseEntity<byte[]> response, boolean hedge) {
+    }
+
+    private record RouteState(List<URI> instances, LatencyTracker latency, RetryBudget budget, long minDelayNanos,
+                              Counter sent, Counter won, Counter budgetExhausted, AtomicInteger next) {
+
+        RouteState(List<URI> instances, LatencyTracker latency, RetryBudget budget, long minDelayNanos,
+                   Counter sent, Counter won, Counter budgetExhausted) {
+            this(instances, latency, budget, minDelayNanos, sent, won, budgetExhausted, new AtomicInteger());
+        }
+
+        long thresholdNanos() {
+            return Math.max(minDelayNanos, latency.getPercentileNanos());
+        }
+
+        URI nextInstance(URI requestUrl) {
+            URI instance = instances.get(Math.floorMod(next.getAndIncrement(), instances.size()));
+            return UriComponentsBuilder.fromUri(requestUrl)
+                    .scheme(instance.getScheme())
+                    .host(instance.getHost())
+                    .port(instance.getPort())
+                    .build(true)
+                    .toUri();
+        }
+    }
+}
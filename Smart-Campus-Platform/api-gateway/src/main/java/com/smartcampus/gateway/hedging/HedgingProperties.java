@@ -0,0 +1,45 @@
+package com.smartcampus.gateway.hedging;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * app.hedging.* - GET routes that may send a second request to another instance when the first
+ * is slower than the route's recent percentile latency, and the budget for those extra requests.
+ */
+@ConfigurationProperties(prefix = "app.hedging")
+public record HedgingProperties(boolean enabled,
+                                double percentile,
+                                Duration minDelay,
+                                Duration initialDelay,
+                                double budgetRatio,
+                                int budgetMaxSaved,
+                                DataSize maxBodySize,
+                                Map<String, RouteHedge> routes) {
+
+    public HedgingProperties {
+        percentile = percentile > 0 ? percentile : 95;
+        minDelay = minDelay != null ? minDelay : Duration.ofMillis(20);
+        budgetRatio = budgetRatio > 0 ? budgetRatio : 0.05;
+        initialDelay = initialDelay != null ? initialDelay : Duration.ofMillis(200);
+        budgetMaxSaved = budgetMaxSaved > 0 ? budgetMaxSaved : 10;
+        maxBodySize = maxBodySize != null ? maxBodySize : DataSize.ofMegabytes(2);
+        routes = routes != null ? routes : Map.of();
+    }
+
+    /**
+     * @param instances other instances of the route's service (the route uri is the first one)
+     * @param paths     gateway-facing path patterns to hedge; empty means every GET of the route
+     */
+    public record RouteHedge(List<String> instances, List<String> paths) {
+
+        public RouteHedge {
+            instances = instances != null ? instances : List.of();
+            paths = paths != null ? paths : List.of();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.smartcampus.gateway.hedging;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The most recent latencies of one route in a ring buffer. The percentile is recomputed every
+ * RECOMPUTE_EVERY samples, so reading it on the request path is a volatile read.
+ */
+public class LatencyTracker {
+
+    private static final int RECOMPUTE_EVERY = 64;
+
+    private final AtomicLongArray samples;
+    private final double percentile;
+    private final AtomicLong count = new AtomicLong();
+    private volatile long percentileNanos;
+
+    public LatencyTracker(int size, double percentile, long initialNanos) {
+        this.samples = new AtomicLongArray(size);
+        this.percentile = percentile;
+        this.percentileNanos = initialNanos;
+    }
+
+    public void record(long nanos) {
+        long n = count.getAndIncrement();
+        samples.lazySet((int) (n % samples.length()), nanos);
+        if ((n + 1) % RECOMPUTE_EVERY == 0) {
+            recompute((int) Math.min(n + 1, samples.length()));
+        }
+    }
+
+    public long getPercentileNanos() {
+        return percentileNanos;
+    }
+
+    private void recompute(int filled) {
+        long[] sorted = new long[filled];
+        for (int i = 0; i < filled; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * filled) - 1;
+        percentileNanos = sorted[Math.max(0, Math.min(filled - 1, index))];
+    }
+}
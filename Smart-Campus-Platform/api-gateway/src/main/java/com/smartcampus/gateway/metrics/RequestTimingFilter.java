@@ -0,0 +1,67 @@
+package com.smartcampus.gateway.metrics;
+
+import com.smartcampus.common.security.AuthenticatedPrincipal;
+import com.smartcampus.gateway.security.JwtAuthGatewayFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outermost timer for every request: gateway.request.duration{route, status, tenant}, from the first
+ * WebFilter to the end of the response. UpstreamTimingFilter splits it into time spent in our
+ * own filters (JWT, quotas, cache) and time waiting on the upstream service.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestTimingFilter implements WebFilter, Ordered {
+
+    public static final String START_ATTR = RequestTimingFilter.class.getName() + ".start";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        long start = System.nanoTime();
+        exchange.getAttributes().put(START_ATTR, start);
+        return chain.filter(exchange)
+                .doFinally(signal -> Timer.builder("gateway.request.duration")
+                        .description("Total time from request arrival to end of response")
+                        .tag("route", routeId(exchange))
+                        .tag("status", signal == SignalType.CANCEL ? "cancelled" : statusClass(exchange.getResponse().getStatusCode()))
+                        .tag("tenant", tenantId(exchange))
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "none";
+    }
+
+    static String tenantId(ServerWebExchange exchange) {
+        AuthenticatedPrincipal principal = exchange.getAttribute(JwtAuthGatewayFilter.PRINCIPAL_ATTR);
+        return principal != null && principal.tenantId() != null ? principal.tenantId() : "none";
+    }
+
+    static String statusClass(HttpStatusCode status) {
+        return status != null ? (status.value() / 100) + "xx" : "unknown";
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,57 @@
+package com.smartcampus.gateway.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs right before the routing filters (HedgingFilter, NettyRoutingFilter) and records, per upstream
+ * attempt (retries included):
+ * gateway.request.filters{route} - time from arrival until the request is handed to the upstream,
+ * gateway.upstream.duration{route, status, tenant} - time until the upstream response headers arrive.
+ */
+@Component
+@RequiredArgsConstructor
+public class UpstreamTimingFilter implements GlobalFilter, Ordered {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long upstreamStart = System.nanoTime();
+        String routeId = RequestTimingFilter.routeId(exchange);
+        Long requestStart = exchange.getAttribute(RequestTimingFilter.START_ATTR);
+        if (requestStart != null) {
+            Timer.builder("gateway.request.filters")
+                    .description("Time spent in gateway filters before the upstream call")
+                    .tag("route", routeId)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(upstreamStart - requestStart, TimeUnit.NANOSECONDS);
+        }
+        return chain.filter(exchange)
+                .doFinally(signal -> Timer.builder("gateway.upstream.duration")
+                        .description("Time waiting on the upstream service until its response headers")
+                        .tag("route", routeId)
+                        .tag("status", RequestTimingFilter.statusClass(exchange.getResponse().getStatusCode()))
+                        .tag("tenant", RequestTimingFilter.tenantId(exchange))
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - upstreamStart, TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public int getOrder() {
+        // Before HedgingFilter, so a hedged exchange is timed as one upstream call
+        return NettyRoutingFilter.ORDER - 2;
+    }
+}
@@ -0,0 +1,166 @@
+package com.smartcampus.gateway.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Layered quotas checked in order global -> tenant -> user -> route, each with its own token bucket
+ * from the shared TokenBucketStore (so RedisRateLimitReconciler makes them cluster-wide too).
+ * Tenant and user come from the X-Tenant-Id / X-User headers set by JwtAuthGatewayFilter;
+ * anonymous requests use the client IP as the user. Paths in app.quota.shared-client-paths are only
+ * held to the global and tenant layers; login is admission-controlled by auth-service instead.
+ * When a layer rejects, tokens already
+ * taken from the outer layers are refunded and the request gets 429 with X-Quota-Layer.
+ * Rejections are counted in gateway.quota.rejected{layer}.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(QuotaProperties.class)
+public class HierarchicalQuotaFilter implements GlobalFilter, Ordered {
+
+    public static final String LAYER_HEADER = "X-Quota-Layer";
+
+    enum Layer { GLOBAL, TENANT, USER, ROUTE }
+
+    private final QuotaProperties properties;
+    private final TokenBucketStore store;
+    private final Map<Layer, Counter> rejected = new EnumMap<>(Layer.class);
+    private final List<PathPattern> sharedClientPaths;
+    private final QuotaProperties.Limit globalShare;
+
+    public HierarchicalQuotaFilter(QuotaProperties properties, TokenBucketStore store, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.store = store;
+        this.sharedClientPaths = properties.sharedClientPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+        QuotaProperties.Limit global = properties.global();
+        int stripes = properties.globalStripes();
+        this.globalShare = global == null ? null : new QuotaProperties.Limit(
+                Math.max(1, global.replenishRate() / stripes), Math.max(1, global.burstCapacity() / stripes));
+        for (Layer layer : Layer.values()) {
+            rejected.put(layer, Counter.builder("gateway.quota.rejected")
+                    .description("Requests rejected by the hierarchical quota filter")
+                    .tag("layer", layer.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (admit(exchange, route != null ? route.getId() : "unrouted")) {
+            return chain.filter(exchange);
+        }
+        return exchange.getResponse().setComplete();
+    }
+
+    /**
+     * Takes a token from every layer for a request to routeId. If a layer rejects, sets 429 and
+     * X-Quota-Layer on the response and returns false. Also used by handlers that call the services
+     * without a gateway route, such as /dashboard.
+     */
+    public boolean admit(ServerWebExchange exchange, String routeId) {
+        if (!properties.enabled()) {
+            return true;
+        }
+
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        String tenantId = headers.getFirst("X-Tenant-Id");
+        String username = headers.getFirst("X-User");
+        String userKey = username != null ? "user:" + username : "ip:" + clientAddress(exchange);
+
+        boolean sharedClient = sharedClientPaths.stream()
+                .anyMatch(p -> p.matches(exchange.getRequest().getPath().pathWithinApplication()));
+
+        long now = System.nanoTime();
+        List<TokenBucket> taken = new ArrayList<>(Layer.values().length);
+        Layer rejectedBy = null;
+        if (!tryTakeGlobal(now, taken)) {
+            rejectedBy = Layer.GLOBAL;
+        } else if (tenantId != null && !tryTake(Layer.TENANT, properties.tenant(), tenantId, now, taken)) {
+            rejectedBy = Layer.TENANT;
+        } else if (!sharedClient && !tryTake(Layer.USER, properties.user(), userKey, now, taken)) {
+            rejectedBy = Layer.USER;
+        } else if (!sharedClient && !tryTake(Layer.ROUTE, properties.routeLimit(routeId), routeId + ":" + userKey, now, taken)) {
+            rejectedBy = Layer.ROUTE;
+        }
+
+        if (rejectedBy == null) {
+            return true;
+        }
+
+        // The request never reaches the backend, so it must not count against the outer layers
+        taken.forEach(bucket -> bucket.refund(1));
+        rejected.get(rejectedBy).increment();
+        log.debug("Quota exceeded at {} layer for {} on {}", rejectedBy, userKey, routeId);
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        exchange.getResponse().getHeaders().add(LAYER_HEADER, rejectedBy.name().toLowerCase());
+        return false;
+    }
+
+    /**
+     * The global limit as globalStripes buckets with an even share each. A request starts at a random
+     * stripe and moves on only if it is empty, so the layer rejects once all of them are.
+     */
+    private boolean tryTakeGlobal(long now, List<TokenBucket> taken) {
+        if (globalShare == null) {
+            return true;
+        }
+        int stripes = properties.globalStripes();
+        int first = ThreadLocalRandom.current().nextInt(stripes);
+        for (int i = 0; i < stripes; i++) {
+            if (tryTake(Layer.GLOBAL, globalShare, "all#" + (first + i) % stripes, now, taken)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean tryTake(Layer layer, QuotaProperties.Limit limit, String key, long now, List<TokenBucket> taken) {
+        if (limit == null) {
+            return true;
+        }
+        TokenBucket bucket = store.bucket("quota-" + layer.name().toLowerCase(), key,
+                limit.burstCapacity(), limit.replenishRate(), now);
+        if (bucket.tryConsume(1, now) < 0) {
+            return false;
+        }
+        taken.add(bucket);
+        return true;
+    }
+
+    private static String clientAddress(ServerWebExchange exchange) {
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        return remoteAddress != null && remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress()
+                : "unknown";
+    }
+
+    @Override
+    public int getOrder() {
+        // Before any other global filter does work for a request that is going to be rejected
+        return Ordered.HIGHEST_PRECEDENCE + 100;
+    }
+}
@@ -0,0 +1,101 @@
+package com.smartcampus.gateway.ratelimit;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * In-process RateLimiter for RequestRateLimiter: one token bucket per route and key, no network
+ * round trip on the request path. Cluster-wide limits are enforced asynchronously by
+ * RedisRateLimitReconciler. Configured per route with local-rate-limiter.* args, exactly like
+ * redis-rate-limiter.*, and returns the same X-RateLimit-* headers.
+ */
+@Primary
+@Component
+public class LocalRateLimiter extends AbstractRateLimiter<LocalRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+    public static final String REQUESTED_TOKENS_HEADER = "X-RateLimit-Requested-Tokens";
+
+    private final TokenBucketStore store;
+    private final Config defaultConfig;
+
+    public LocalRateLimiter(TokenBucketStore store,
+                            ConfigurationService configurationService,
+                            @Value("${app.rate-limit.replenish-rate:10}") int replenishRate,
+                            @Value("${app.rate-limit.burst-capacity:20}") int burstCapacity) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.store = store;
+        this.defaultConfig = new Config()
+                .setReplenishRate(replenishRate)
+                .setBurstCapacity(burstCapacity);
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        TokenBucket bucket = store.bucket(routeId, id, config.getBurstCapacity(), config.getReplenishRate(),
+                System.nanoTime());
+        long remaining = bucket.tryConsume(config.getRequestedTokens(), System.nanoTime());
+        return Mono.just(new Response(remaining >= 0, headers(config, Math.max(remaining, 0))));
+    }
+
+    private static Map<String, String> headers(Config config, long remaining) {
+        return Map.of(
+                REMAINING_HEADER, Long.toString(remaining),
+                REPLENISH_RATE_HEADER, Integer.toString(config.getReplenishRate()),
+                BURST_CAPACITY_HEADER, Integer.toString(config.getBurstCapacity()),
+                REQUESTED_TOKENS_HEADER, Integer.toString(config.getRequestedTokens()));
+    }
+
+    @Validated
+    public static class Config {
+
+        @Min(1)
+        private int replenishRate;
+
+        @Min(0)
+        private int burstCapacity = 1;
+
+        @Min(1)
+        private int requestedTokens = 1;
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public Config setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+            return this;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public Config setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+            return this;
+        }
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public Config setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.smartcampus.gateway.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * app.quota.* - token-bucket limits for each HierarchicalQuotaFilter layer.
+ * A layer without a limit is not enforced; routes overrides the route layer per route id.
+ * Requests to sharedClientPaths (e.g. login, where everyone behind a NAT shares one IP) skip
+ * the user and route layers. The global limit is split over globalStripes buckets, so every request
+ * does not CAS the same one.
+ */
+@ConfigurationProperties(prefix = "app.quota")
+public record QuotaProperties(boolean enabled,
+                              Limit global,
+                              Limit tenant,
+                              Limit user,
+                              Limit route,
+                              Map<String, Limit> routes,
+                              List<String> sharedClientPaths,
+                              int globalStripes) {
+
+    public QuotaProperties {
+        routes = routes != null ? routes : Map.of();
+        globalStripes = globalStripes > 0 ? globalStripes : 8;
+        sharedClientPaths = sharedClientPaths != null ? sharedClientPaths : List.of();
+    }
+
+    public Limit routeLimit(String routeId) {
+        return routes.getOrDefault(routeId, route);
+    }
+
+    public record Limit(int replenishRate, int burstCapacity) {
+    }
+}
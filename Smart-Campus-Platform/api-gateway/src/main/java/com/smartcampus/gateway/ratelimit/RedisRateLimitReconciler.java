@@ -0,0 +1,92 @@
+package com.smartcampus.gateway.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Shares local token-bucket consumption across gateway instances off the request path.
+ * Each tick adds the permits granted since the previous tick to a per-window Redis counter
+ * (INCRBY rl:{route}:{key}:{window}); if the cluster total for the window exceeds what one
+ * bucket allows (burst + rate * window), the local bucket is blocked until the window ends.
+ * When Redis is unavailable, limits simply stay per instance.
+ */
+@Slf4j
+@Component
+public class RedisRateLimitReconciler {
+
+    private static final String KEY_PREFIX = "rl:";
+
+    private final TokenBucketStore store;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final boolean enabled;
+    private final Duration window;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public RedisRateLimitReconciler(TokenBucketStore store,
+                                    ReactiveStringRedisTemplate redisTemplate,
+                                    @Value("${app.rate-limit.reconcile.enabled:true}") boolean enabled,
+                                    @Value("${app.rate-limit.reconcile.window:1s}") Duration window) {
+        this.store = store;
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.window = window;
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.reconcile.interval:250ms}")
+    public void reconcile() {
+        long now = System.nanoTime();
+        store.evictIdle(now);
+        // Skip a tick rather than pile up requests if Redis is slower than the interval
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+
+        long windowMillis = window.toMillis();
+        long wallClock = System.currentTimeMillis();
+        long windowId = wallClock / windowMillis;
+        long windowEndNanos = now + Duration.ofMillis((windowId + 1) * windowMillis - wallClock).toNanos();
+
+        List<Pending> pending = new ArrayList<>();
+        store.forEach((key, bucket) -> {
+            long permits = bucket.drainUnreported();
+            if (permits > 0) {
+                pending.add(new Pending(KEY_PREFIX + key + ":" + windowId, bucket, permits));
+            }
+        });
+
+        Flux.fromIterable(pending)
+                .flatMap(p -> publish(p, windowMillis, windowEndNanos), 32)
+                .doFinally(signal -> running.set(false))
+                .subscribe();
+    }
+
+    private Mono<Void> publish(Pending p, long windowMillis, long windowEndNanos) {
+        long clusterLimit = p.bucket().getCapacity() + p.bucket().getReplenishPerSecond() * windowMillis / 1000;
+        return redisTemplate.opsForValue().increment(p.redisKey(), p.permits())
+                .flatMap(total -> redisTemplate.expire(p.redisKey(), window.multipliedBy(2)).thenReturn(total))
+                .doOnNext(total -> {
+                    if (total > clusterLimit) {
+                        log.debug("Cluster limit exceeded for {} ({} > {})", p.redisKey(), total, clusterLimit);
+                        p.bucket().block(windowEndNanos);
+                    }
+                })
+                .then()
+                .onErrorResume(e -> {
+                    log.debug("Rate limit reconcile failed for {}: {}", p.redisKey(), e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private record Pending(String redisKey, TokenBucket bucket, long permits) {
+    }
+}
@@ -0,0 +1,106 @@
+package com.smartcampus.gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free token bucket. The whole state (tokens, last refill time) is one immutable value
+ * swapped with compare-and-set, so concurrent requests never block each other.
+ * Permits granted since the last reconcile are counted separately for the Redis reconciler.
+ */
+public class TokenBucket {
+
+    private final long capacity;
+    private final long replenishPerSecond;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+    private final LongAdder unreported = new LongAdder();
+    private volatile long blockedUntilNanos;
+    private volatile long lastAccessNanos;
+
+    public TokenBucket(long capacity, long replenishPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.replenishPerSecond = replenishPerSecond;
+        this.tokensPerNano = replenishPerSecond / 1_000_000_000d;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+        this.blockedUntilNanos = nowNanos;
+        this.lastAccessNanos = nowNanos;
+    }
+
+    /**
+     * Takes the permits if available and returns the tokens left, or -1 if the request is rejected.
+     */
+    public long tryConsume(long permits, long nowNanos) {
+        lastAccessNanos = nowNanos;
+        if (nowNanos - blockedUntilNanos < 0) {
+            return -1;
+        }
+        while (true) {
+            State current = state.get();
+            double available = refill(current, nowNanos);
+            if (available < permits) {
+                return -1;
+            }
+            if (state.compareAndSet(current, new State(available - permits, nowNanos))) {
+                unreported.add(permits);
+                return (long) (available - permits);
+            }
+        }
+    }
+
+    /**
+     * Gives back permits taken by tryConsume, e.g. when a later quota layer rejected the request.
+     */
+    public void refund(long permits) {
+        while (true) {
+            State current = state.get();
+            State refunded = new State(Math.min(capacity, current.tokens() + permits), current.lastRefillNanos());
+            if (state.compareAndSet(current, refunded)) {
+                unreported.add(-permits);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Empties the bucket and rejects everything until the given time; used when the
+     * cluster-wide limit for the current window is already spent on other nodes.
+     */
+    public void block(long untilNanos) {
+        blockedUntilNanos = untilNanos;
+        state.set(new State(0, untilNanos));
+    }
+
+    /**
+     * Permits granted since the previous call.
+     */
+    public long drainUnreported() {
+        return unreported.sumThenReset();
+    }
+
+    /**
+     * True once the bucket has refilled completely and has not been touched for the given time,
+     * i.e. dropping it is indistinguishable from keeping it. Unreported permits don't keep it: the
+     * reconciler drains them long before the idle timeout, and nothing drains them when it is disabled.
+     */
+    public boolean isIdle(long nowNanos, long idleNanos) {
+        return nowNanos - lastAccessNanos > idleNanos
+                && refill(state.get(), nowNanos) >= capacity;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public long getReplenishPerSecond() {
+        return replenishPerSecond;
+    }
+
+    private double refill(State s, long nowNanos) {
+        long elapsed = Math.max(0, nowNanos - s.lastRefillNanos());
+        return Math.min(capacity, s.tokens() + elapsed * tokensPerNano);
+    }
+
+    private record State(double tokens, long lastRefillNanos) {
+    }
+}
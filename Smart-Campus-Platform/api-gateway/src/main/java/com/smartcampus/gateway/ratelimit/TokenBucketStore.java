@@ -0,0 +1,79 @@
+package com.smartcampus.gateway.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Token buckets keyed by route and client key, split over independent stripes so that
+ * bucket creation and idle eviction on one stripe never contend with the others.
+ */
+@Component
+public class TokenBucketStore {
+
+    private final ConcurrentHashMap<String, TokenBucket>[] stripes;
+    private final int mask;
+    private final long idleNanos;
+
+    @SuppressWarnings("unchecked")
+    public TokenBucketStore(@Value("${app.rate-limit.stripes:16}") int stripes,
+                            @Value("${app.rate-limit.idle-timeout:5m}") Duration idleTimeout) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1) << 1);
+        this.stripes = new ConcurrentHashMap[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ConcurrentHashMap<>();
+        }
+        this.mask = size - 1;
+        this.idleNanos = idleTimeout.toNanos();
+    }
+
+    public TokenBucket bucket(String routeId, String key, long capacity, long replenishPerSecond, long nowNanos) {
+        String bucketKey = routeId + ":" + key;
+        TokenBucket bucket = stripe(bucketKey).get(bucketKey);
+        if (bucket == null || bucket.getCapacity() != capacity || bucket.getReplenishPerSecond() != replenishPerSecond) {
+            // Missing, or the route's limits were changed at runtime
+            bucket = stripe(bucketKey).compute(bucketKey, (k, existing) ->
+                    existing != null && existing.getCapacity() == capacity
+                            && existing.getReplenishPerSecond() == replenishPerSecond
+                            ? existing
+                            : new TokenBucket(capacity, replenishPerSecond, nowNanos));
+        }
+        return bucket;
+    }
+
+    public void forEach(BiConsumer<String, TokenBucket> action) {
+        for (Map<String, TokenBucket> stripe : stripes) {
+            stripe.forEach(action);
+        }
+    }
+
+    /**
+     * Drops buckets that are full and untouched for app.rate-limit.idle-timeout.
+     */
+    public int evictIdle(long nowNanos) {
+        int evicted = 0;
+        for (Map<String, TokenBucket> stripe : stripes) {
+            int before = stripe.size();
+            stripe.values().removeIf(bucket -> bucket.isIdle(nowNanos, idleNanos));
+            evicted += before - stripe.size();
+        }
+        return evicted;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<String, TokenBucket> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private ConcurrentHashMap<String, TokenBucket> stripe(String bucketKey) {
+        int h = bucketKey.hashCode();
+        return stripes[(h ^ (h >>> 16)) & mask];
+    }
+}
@@ -1,8 +1,11 @@
 package com.smartcampus.gateway.security;
 
+import com.smartcampus.common.security.AuthenticatedPrincipal;
+import com.smartcampus.common.security.IdentityHeaderCodec;
+import com.smartcampus.common.security.JwtVerifier;
 import io.jsonwebtoken.Claims;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
@@ -12,15 +15,50 @@ import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtAuthGatewayFilter implements WebFilter {
 
-    private final JwtService jwtService;
+    // Verified caller, for filters that run after this one (metrics, quotas)
+    public static final String PRINCIPAL_ATTR = JwtAuthGatewayFilter.class.getName() + ".principal";
+
+    // Identity headers only the gateway may set; downstream services and the rate-limit key trust them
+    private static final List<String> GATEWAY_HEADERS =
+            List.of(IdentityHeaderCodec.HEADER, "X-User", "X-Role", "X-Tenant-Id");
+
+    private final VerifiedClaimsCache claimsCache;
+    private final RevocationList revocationList;
+    private final IdentityHeaderCodec identityCodec;
+    private final byte[] scrapeAuthorization;
+
+    /**
+     * @param scrapeToken bearer token Prometheus sends for /actuator/prometheus; blank keeps the endpoint closed
+     */
+    public JwtAuthGatewayFilter(VerifiedClaimsCache claimsCache,
+                                RevocationList revocationList,
+                                IdentityHeaderCodec identityCodec,
+                                @Value("${app.metrics.scrape-token:}") String scrapeToken) {
+        this.claimsCache = claimsCache;
+        this.revocationList = revocationList;
+        this.identityCodec = identityCodec;
+        this.scrapeAuthorization = scrapeToken.isBlank() ? null : ("Bearer " + scrapeToken).getBytes(StandardCharsets.UTF_8);
+    }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        // Never let a client supply its own identity headers
+        HttpHeaders incoming = exchange.getRequest().getHeaders();
+        if (GATEWAY_HEADERS.stream().anyMatch(incoming::containsKey)) {
+            ServerHttpRequest stripped = exchange.getRequest().mutate()
+                    .headers(h -> GATEWAY_HEADERS.forEach(h::remove))
+                    .build();
+            exchange = exchange.mutate().request(stripped).build();
+        }
+        
         String path = exchange.getRequest().getPath().value();
         log.debug("Incoming request: {} {}", exchange.getRequest().getMethod(), path);
         
@@ -28,6 +66,15 @@ public class JwtAuthGatewayFilter implements WebFilter {
             log.debug("Bypassing auth for: {}", path);
             return chain.filter(exchange);
         }
+        if (path.equals("/actuator/prometheus")) {
+            // The scraper has no user JWT; this port is public, so it needs the configured scrape token
+            if (!isScraper(exchange)) {
+                log.warn("Metrics scrape without a valid token, returning 401");
+                exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+                return exchange.getResponse().setComplete();
+            }
+            return chain.filter(exchange);
+        }
         
         String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
         log.debug("Auth Header: {}", (authHeader != null ? "Present" : "Missing"));
@@ -40,21 +87,31 @@ public class JwtAuthGatewayFilter implements WebFilter {
         
         try {
             String token = authHeader.substring(7);
-            Claims claims = jwtService.parse(token);
-            String username = claims.getSubject();
-            String role = (String) claims.get("role");
-            String tenantId = (String) claims.get("tenantId");
+            Claims claims = claimsCache.verify(token);
+            if (revocationList.isRevoked(claims)) {
+                log.warn("Revoked token for {}, returning 401", claims.getSubject());
+                exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+                return exchange.getResponse().setComplete();
+            }
+            AuthenticatedPrincipal principal = JwtVerifier.toPrincipal(claims);
+            String username = principal.username();
+            String role = principal.role();
+            String tenantId = principal.tenantId();
             
             log.debug("JWT parsed successfully - User: {}, Role: {}, Tenant: {}", username, role, tenantId);
             
-            ServerHttpRequest mutated = exchange.getRequest().mutate()
+            ServerHttpRequest.Builder builder = exchange.getRequest().mutate()
                     .header("X-User", username)
                     .header("X-Role", role)
                     .header("X-Tenant-Id", tenantId)
-                    .header(HttpHeaders.AUTHORIZATION, authHeader)
-                    .build();
+                    .header(HttpHeaders.AUTHORIZATION, authHeader);
+            if (identityCodec.isEnabled()) {
+                builder.header(IdentityHeaderCodec.HEADER, identityCodec.sign(principal));
+            }
+            ServerHttpRequest mutated = builder.build();
                     
             log.debug("Forwarding request with Authorization header");
+            exchange.getAttributes().put(PRINCIPAL_ATTR, principal);
             return chain.filter(exchange.mutate().request(mutated).build());
         } catch (Exception e) {
             log.error("JWT parsing failed: {}", e.getMessage());
@@ -62,5 +119,10 @@ public class JwtAuthGatewayFilter implements WebFilter {
             return exchange.getResponse().setComplete();
         }
     }
-}
 
+    private boolean isScraper(ServerWebExchange exchange) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        return scrapeAuthorization != null && authHeader != null
+                && MessageDigest.isEqual(scrapeAuthorization, authHeader.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,138 @@
+package com.smartcampus.gateway.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tokens revoked by auth-service (a single token by jti, or every token of a user issued up to
+ * the revocation). A Bloom filter answers "not revoked" for almost every request without touching
+ * the exact map; only a filter hit is confirmed against it.
+ * Revocations arrive from RevocationListener; every rebuild-interval the list is re-synced from
+ * auth-service (covering missed messages; needs app.revocation.token), expired entries are dropped
+ * and the filter is rebuilt at the size the list has now.
+ */
+@Slf4j
+@Component
+public class RevocationList {
+
+    private static final String TOKEN_PREFIX = "jti:";
+    private static final String SUBJECT_PREFIX = "sub:";
+    private static final String REVOCATION_TOKEN_HEADER = "X-Revocation-Token";
+
+    private final boolean enabled;
+    private final String bootstrapUrl;
+    private final String bootstrapToken;
+    private final double falsePositiveRate;
+    private final WebClient webClient;
+    private final Counter rejected;
+    private final ConcurrentHashMap<String, Revocation> exact = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+
+    public RevocationList(WebClient.Builder webClientBuilder,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.revocation.enabled:true}") boolean enabled,
+                          @Value("${app.revocation.bootstrap-url:}") String bootstrapUrl,
+                          @Value("${app.revocation.token:}") String bootstrapToken,
+                          @Value("${app.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.enabled = enabled;
+        this.bootstrapUrl = bootstrapUrl;
+        this.bootstrapToken = bootstrapToken;
+        this.falsePositiveRate = falsePositiveRate;
+        this.webClient = webClientBuilder.build();
+        this.filter = new BloomFilter(0, falsePositiveRate);
+        this.rejected = Counter.builder("gateway.revocation.rejected")
+                .description("Requests rejected because their token was revoked")
+                .register(meterRegistry);
+        Gauge.builder("gateway.revocation.entries", exact, Map::size)
+                .description("Revocations that still cover unexpired tokens")
+                .register(meterRegistry);
+    }
+
+    public boolean isRevoked(Claims claims) {
+        if (!enabled) {
+            return false;
+        }
+        BloomFilter current = filter;
+        String tokenKey = claims.getId() != null ? TOKEN_PREFIX + claims.getId() : null;
+        if (tokenKey != null && current.mightContain(tokenKey) && exact.containsKey(tokenKey)) {
+            rejected.increment();
+            return true;
+        }
+        String subjectKey = SUBJECT_PREFIX + claims.getSubject();
+        if (current.mightContain(subjectKey)) {
+            Revocation revocation = exact.get(subjectKey);
+            Date issuedAt = claims.getIssuedAt();
+            // iat has second precision: a token from the same second as the revocation counts as revoked
+            if (revocation != null && (issuedAt == null || issuedAt.getTime() <= revocation.revokedAt())) {
+                rejected.increment();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds one revocation in the shape auth-service publishes: {kind, value, revokedAt, expiresAt}.
+     */
+    public synchronized void add(Map<?, ?> payload) {
+        String key = ("SUBJECT".equals(payload.get("kind")) ? SUBJECT_PREFIX : TOKEN_PREFIX) + payload.get("value");
+        Revocation revocation = new Revocation(
+                ((Number) payload.get("revokedAt")).longValue(),
+                ((Number) payload.get("expiresAt")).longValue());
+        // Exact entry first: a filter hit must never find it missing
+        exact.merge(key, revocation, (a, b) -> a.revokedAt() >= b.revokedAt() ? a : b);
+        filter.add(key);
+    }
+
+    @Scheduled(fixedDelayString = "${app.revocation.rebuild-interval:5m}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        // auth-service only serves the list to callers with the shared token
+        if (bootstrapUrl.isBlank() || bootstrapToken.isBlank()) {
+            rebuildFilter();
+            return;
+        }
+        webClient.get()
+                .uri(bootstrapUrl)
+                .header(REVOCATION_TOKEN_HEADER, bootstrapToken)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<List<Map<String, Object>>>() {})
+                .timeout(Duration.ofSeconds(10))
+                .doOnNext(revocations -> revocations.forEach(this::add))
+                .onErrorResume(e -> {
+                    log.warn("Could not load revocations from {}: {}", bootstrapUrl, e.getMessage());
+                    return Mono.empty();
+                })
+                .doFinally(signal -> rebuildFilter())
+                .subscribe();
+    }
+
+    private synchronized void rebuildFilter() {
+        long now = System.currentTimeMillis();
+        exact.values().removeIf(revocation -> revocation.expiresAt() <= now);
+        BloomFilter rebuilt = new BloomFilter(exact.size() * 2, falsePositiveRate);
+        exact.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+        log.debug("Rebuilt revocation filter with {} entries", exact.size());
+    }
+
+    private record Revocation(long revokedAt, long expiresAt) {
+    }
+}
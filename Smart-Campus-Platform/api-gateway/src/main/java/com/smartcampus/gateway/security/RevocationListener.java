@@ -0,0 +1,27 @@
+package com.smartcampus.gateway.security;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Feeds revocations published by auth-service ({eventType, payload, timestamp}) into the RevocationList.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RevocationListener {
+
+    private final RevocationList revocationList;
+
+    @RabbitListener(queues = "#{revocationQueue.name}")
+    public void onRevocation(Map<String, Object> message) {
+        if (message.get("payload") instanceof Map<?, ?> payload) {
+            revocationList.add(payload);
+            log.debug("Token revocation received: {} {}", payload.get("kind"), payload.get("value"));
+        }
+    }
+}
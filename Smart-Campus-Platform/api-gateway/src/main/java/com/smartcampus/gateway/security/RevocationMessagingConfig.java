@@ -0,0 +1,33 @@
+package com.smartcampus.gateway.security;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * A private auto-delete queue per gateway instance on auth-service's revocation fanout exchange.
+ */
+@Configuration
+public class RevocationMessagingConfig {
+
+    public static final String REVOCATIONS_EXCHANGE = "auth.revocations";
+
+    @Bean
+    public Queue revocationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public FanoutExchange revocationsExchange() {
+        return new FanoutExchange(REVOCATIONS_EXCHANGE, true, false);
+    }
+
+    @Bean
+    public Binding revocationsBinding(Queue revocationQueue, FanoutExchange revocationsExchange) {
+        return BindingBuilder.bind(revocationQueue).to(revocationsExchange);
+    }
+}
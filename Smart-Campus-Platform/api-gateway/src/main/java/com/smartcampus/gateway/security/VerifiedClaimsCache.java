@@ -0,0 +1,88 @@
+package com.smartcampus.gateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.smartcampus.common.security.JwtVerifier;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Bounded cache of already-verified JWT claims, keyed by a SHA-256 digest of the token.
+ * Entries expire at the token's own "exp" (capped by max-ttl), so a cached token is never
+ * accepted past its expiry. Invalid tokens are never cached.
+ * Hit/miss/eviction counts are exposed as cache.* metrics with cache=gateway.jwt.claims
+ */
+@Component
+public class VerifiedClaimsCache {
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final JwtVerifier jwtVerifier;
+    private final Cache<String, Claims> cache;
+
+    public VerifiedClaimsCache(JwtVerifier jwtVerifier,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.jwt.cache.max-size:10000}") long maxSize,
+                               @Value("${app.jwt.cache.max-ttl:5m}") Duration maxTtl) {
+        this.jwtVerifier = jwtVerifier;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry(maxTtl.toNanos()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway.jwt.claims");
+    }
+
+    /**
+     * Returns the verified claims for the token, verifying the signature only on a cache miss.
+     * Throws the same JwtException as JwtVerifier.parseClaims for invalid or expired tokens.
+     */
+    public Claims verify(String token) {
+        return cache.get(digest(token), key -> jwtVerifier.parseClaims(token));
+    }
+
+    private static String digest(String token) {
+        byte[] hash = SHA256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+
+    private record TokenExpiry(long maxTtlNanos) implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date exp = claims.getExpiration();
+            if (exp == null) {
+                return maxTtlNanos;
+            }
+            long remaining = Duration.ofMillis(exp.getTime() - System.currentTimeMillis()).toNanos();
+            return Math.max(0, Math.min(remaining, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
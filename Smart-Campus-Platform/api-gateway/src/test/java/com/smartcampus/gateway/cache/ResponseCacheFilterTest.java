@@ -0,0 +1,87 @@
+package com.smartcampus.gateway.cache;
+
+import com.smartcampus.gateway.concurrency.PriorityFilter;
+import com.smartcampus.gateway.concurrency.PriorityProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ResponseCacheFilterTest {
+
+    private static final String ROUTE = "marketplace-service";
+    private static final String PATH = "/marketplace/tickets";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void cacheHitsDoNotWaitForAnUpstreamSlot() {
+        ResponseCacheProperties cacheProperties = new ResponseCacheProperties(true, null,
+                Map.of(ROUTE, new ResponseCacheProperties.RouteRule(List.of(PATH), null, false, null)));
+        ResponseCache cache = new ResponseCache(cacheProperties, meterRegistry);
+        cache.put(new ResponseCache.Key(ROUTE, "t1", "STUDENT", null, PATH),
+                new ResponseCache.CachedResponse("[]".getBytes(StandardCharsets.UTF_8), "application/json",
+                        "\"e1\"", Duration.ofMinutes(1).toNanos()), cache.generation());
+
+        PriorityProperties priorityProperties = new PriorityProperties(true, 1, Duration.ofMillis(50), "reads",
+                Map.of("reads", new PriorityProperties.PriorityClass(1, 10, List.of())));
+        List<GlobalFilter> filters = List.of(
+                new PriorityFilter(priorityProperties, meterRegistry),
+                new ResponseCacheFilter(cache, cacheProperties));
+
+        // A slow cache miss holds the only slot
+        Disposable slow = run(filters, request(PATH + "?page=2"), e -> Mono.never()).subscribe();
+        try {
+            MockServerWebExchange hit = request(PATH);
+            run(filters, hit, e -> Mono.error(new AssertionError("Cache hits are not routed"))).block();
+
+            assertEquals(HttpStatus.OK, hit.getResponse().getStatusCode());
+            assertEquals("HIT", hit.getResponse().getHeaders().getFirst("X-Cache"));
+        } finally {
+            slow.dispose();
+        }
+    }
+
+    private static MockServerWebExchange request(String uri) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(uri)
+                .header("X-Tenant-Id", "t1")
+                .header("X-Role", "STUDENT"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id(ROUTE)
+                .uri("http://localhost")
+                .predicate(e -> true)
+                .build());
+        return exchange;
+    }
+
+    // Runs the filters in gateway order, then the upstream
+    private static Mono<Void> run(List<GlobalFilter> filters, MockServerWebExchange exchange, GatewayFilterChain upstream) {
+        List<GlobalFilter> ordered = filters.stream()
+                .sorted(Comparator.comparingInt(f -> ((Ordered) f).getOrder()))
+                .toList();
+        return chain(ordered, 0, upstream).filter(exchange);
+    }
+
+    private static GatewayFilterChain chain(List<GlobalFilter> filters, int index, GatewayFilterChain upstream) {
+        if (index == filters.size()) {
+            return upstream;
+        }
+        return exchange -> filters.get(index).filter(exchange, chain(filters, index + 1, upstream));
+    }
+}
@@ -0,0 +1,103 @@
+package com.smartcampus.gateway.dashboard;
+
+import com.smartcampus.gateway.concurrency.PriorityFilter;
+import com.smartcampus.gateway.concurrency.PriorityProperties;
+import com.smartcampus.gateway.ratelimit.HierarchicalQuotaFilter;
+import com.smartcampus.gateway.ratelimit.QuotaProperties;
+import com.smartcampus.gateway.ratelimit.TokenBucketStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DashboardControllerTest {
+
+    private static final String ROUTE = "booking-service";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RouteLocator routeLocator = mock(RouteLocator.class);
+    private final DashboardProperties properties = new DashboardProperties(Duration.ofSeconds(2),
+            Map.of("reservations", new DashboardProperties.Part(ROUTE, "/reservations/mine", null)));
+
+    @Test
+    void dashboardIsHeldToTheUserQuota() {
+        QuotaProperties quota = new QuotaProperties(true, null, null, new QuotaProperties.Limit(1, 1),
+                null, Map.of(), List.of(), 0);
+        DashboardController controller = controller(quota, priority(false));
+
+        // The first request takes the user's only token; the upstream is unreachable and reported as an error
+        when(routeLocator.getRoutes()).thenReturn(Flux.just(route("http://localhost:1")));
+        Map<String, Object> document = controller.dashboard(request()).block();
+        assertNull(document.get("reservations"));
+
+        MockServerWebExchange rejected = request();
+        assertNull(controller.dashboard(rejected).block());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+        assertEquals("user", rejected.getResponse().getHeaders().getFirst(HierarchicalQuotaFilter.LAYER_HEADER));
+        verify(routeLocator, times(1)).getRoutes();
+    }
+
+    @Test
+    void partsWaitForAnUpstreamSlot() {
+        QuotaProperties quota = new QuotaProperties(false, null, null, null, null, Map.of(), List.of(), 0);
+        PriorityFilter priorityFilter = priority(true);
+        DashboardController controller = controller(quota, priorityFilter);
+        when(routeLocator.getRoutes()).thenReturn(Flux.just(route("http://localhost:1")));
+
+        // A slow routed request holds the only slot
+        MockServerWebExchange routed = request();
+        routed.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route("http://localhost:1"));
+        Disposable slow = priorityFilter.filter(routed, e -> Mono.never()).subscribe();
+        try {
+            Map<String, Object> document = controller.dashboard(request()).block();
+
+            assertEquals(Map.of("reservations", "overloaded"), document.get("errors"));
+        } finally {
+            slow.dispose();
+        }
+    }
+
+    private DashboardController controller(QuotaProperties quota, PriorityFilter priorityFilter) {
+        HierarchicalQuotaFilter quotaFilter = new HierarchicalQuotaFilter(quota,
+                new TokenBucketStore(4, Duration.ofMinutes(5)), meterRegistry);
+        return new DashboardController(properties, routeLocator, WebClient.builder(), quotaFilter, priorityFilter);
+    }
+
+    private PriorityFilter priority(boolean enabled) {
+        return new PriorityFilter(new PriorityProperties(enabled, 1, Duration.ofMillis(50), "reads",
+                Map.of("reads", new PriorityProperties.PriorityClass(1, 10, List.of()))), meterRegistry);
+    }
+
+    private static MockServerWebExchange request() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/dashboard")
+                .header("X-User", "alice")
+                .header("X-Tenant-Id", "t1"));
+    }
+
+    private static Route route(String uri) {
+        return Route.async()
+                .id(ROUTE)
+                .uri(uri)
+                .predicate(e -> true)
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.smartcampus.gateway.hedging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.filter.headers.RemoveHopByHopHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HedgingFilterTest {
+
+    private static final String ROUTE = "exam-service";
+    private static final Duration SLOW = Duration.ofMillis(300);
+    private static final Duration INITIAL_DELAY = Duration.ofMillis(50);
+
+    private DisposableServer primary;
+    private DisposableServer secondary;
+    private SimpleMeterRegistry meterRegistry;
+    private HedgingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        primary = HttpServer.create()
+                .port(0)
+                .route(routes -> routes
+                        .get("/fast", (request, response) -> response.sendString(Mono.just("primary")))
+                        .get("/slow", (request, response) -> response.sendString(Mono.just("primary").delayElement(SLOW))))
+                .bindNow();
+        secondary = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/{path}", (request, response) -> response.sendString(Mono.just("secondary"))))
+                .bindNow();
+        meterRegistry = new SimpleMeterRegistry();
+        // Every hedge may go out, so the slow calls are all answered by the secondary
+        HedgingProperties properties = new HedgingProperties(true, 90, Duration.ofMillis(1), INITIAL_DELAY, 1.0, 1000,
+                DataSize.ofMegabytes(1),
+                Map.of(ROUTE, new HedgingProperties.RouteHedge(List.of("http://localhost:" + secondary.port()), List.of())));
+        @SuppressWarnings("unchecked")
+        ObjectProvider<List<HttpHeadersFilter>> headersFilters = mock(ObjectProvider.class);
+        when(headersFilters.getIfAvailable()).thenReturn(List.of(new RemoveHopByHopHeadersFilter()));
+        filter = new HedgingFilter(properties, headersFilters, HttpClient.create(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.disposeNow();
+        secondary.disposeNow();
+    }
+
+    @Test
+    void thresholdHoldsWhenHedgesWin() {
+        // One in five calls is slow; the 90th percentile is a slow call
+        for (int i = 0; i < 200; i++) {
+            MockServerWebExchange exchange = send(i % 5 == 0 ? "/slow" : "/fast");
+            assertEquals(i % 5 == 0 ? "secondary" : "primary", exchange.getResponse().getBodyAsString().block());
+        }
+
+        assertTrue(meterRegistry.get("gateway.hedge.won").counter().count() >= 40);
+        // Sampling only the fast calls would drop it to a few milliseconds and hedge nearly every request
+        double threshold = meterRegistry.get("gateway.hedge.threshold").gauge().value();
+        assertTrue(threshold >= INITIAL_DELAY.toNanos() / 1e9, "threshold " + threshold);
+    }
+
+    private MockServerWebExchange send(String path) {
+        URI uri = URI.create("http://localhost:" + primary.port() + path);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id(ROUTE)
+                .uri(uri)
+                .predicate(e -> true)
+                .build());
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, uri);
+        filter.filter(exchange, e -> Mono.error(new AssertionError("Hedged requests are not routed"))).block();
+        return exchange;
+    }
+}
@@ -0,0 +1,46 @@
+package com.smartcampus.gateway.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HierarchicalQuotaFilterTest {
+
+    @Test
+    void stripedGlobalLayerAdmitsTheWholeBurst() {
+        // Slow refill, so the test mostly sees the burst
+        QuotaProperties properties = new QuotaProperties(true, new QuotaProperties.Limit(1, 80),
+                null, null, null, Map.of(), List.of(), 8);
+        HierarchicalQuotaFilter filter = new HierarchicalQuotaFilter(properties,
+                new TokenBucketStore(4, Duration.ofMinutes(5)), new SimpleMeterRegistry());
+
+        int admitted = 0;
+        MockServerWebExchange exchange = send(filter);
+        while (exchange.getResponse().getStatusCode() == null && admitted < 200) {
+            admitted++;
+            exchange = send(filter);
+        }
+
+        // A random start stripe must not reject while other stripes still have tokens;
+        // each stripe refills at 1/s, which may add a token or two while the test runs
+        assertTrue(admitted >= 80 && admitted <= 82, "admitted " + admitted);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exchange.getResponse().getStatusCode());
+        assertEquals("global", exchange.getResponse().getHeaders().getFirst(HierarchicalQuotaFilter.LAYER_HEADER));
+    }
+
+    private static MockServerWebExchange send(HierarchicalQuotaFilter filter) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/booking/resources"));
+        filter.filter(exchange, e -> Mono.empty()).block();
+        return exchange;
+    }
+}
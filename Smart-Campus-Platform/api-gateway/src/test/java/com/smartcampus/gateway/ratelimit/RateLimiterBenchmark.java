@@ -0,0 +1,86 @@
+package com.smartcampus.gateway.ratelimit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request overhead of RequestRateLimiter's isAllowed: the in-process LocalRateLimiter
+ * against the stock RedisRateLimiter (one Lua script round trip per request).
+ * Limits are set high enough that every request is allowed, so both paths do the same work.
+ * Needs a Redis on localhost:6379 (docker-compose up -d redis). Run with:
+ * mvn -pl api-gateway -am test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.smartcampus.gateway.ratelimit.RateLimiterBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+    private static final String ROUTE = "booking-service";
+    private static final int KEYS = 1024;
+    private static final int RATE = 1_000_000;
+
+    private LettuceConnectionFactory connectionFactory;
+    private LocalRateLimiter localRateLimiter;
+    private RedisRateLimiter redisRateLimiter;
+    private String[] keys;
+
+    @Setup
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void setup() {
+        localRateLimiter = new LocalRateLimiter(new TokenBucketStore(16, Duration.ofMinutes(5)), null, RATE, RATE);
+
+        connectionFactory = new LettuceConnectionFactory("localhost", 6379);
+        connectionFactory.afterPropertiesSet();
+        RedisScript<List<Long>> script = (RedisScript) RedisScript.of(
+                new ClassPathResource("META-INF/scripts/request_rate_limiter.lua"), List.class);
+        redisRateLimiter = new RedisRateLimiter(new ReactiveStringRedisTemplate(connectionFactory), script, null);
+        redisRateLimiter.getConfig().put(ROUTE, new RedisRateLimiter.Config()
+                .setReplenishRate(RATE)
+                .setBurstCapacity(RATE));
+
+        keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "user:student" + i;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Benchmark
+    public RateLimiter.Response local() {
+        return localRateLimiter.isAllowed(ROUTE, nextKey()).block();
+    }
+
+    @Benchmark
+    public RateLimiter.Response redis() {
+        return redisRateLimiter.isAllowed(ROUTE, nextKey()).block();
+    }
+
+    private String nextKey() {
+        return keys[ThreadLocalRandom.current().nextInt(KEYS)];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RateLimiterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
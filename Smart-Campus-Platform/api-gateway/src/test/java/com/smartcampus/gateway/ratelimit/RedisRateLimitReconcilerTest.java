@@ -0,0 +1,46 @@
+package com.smartcampus.gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class RedisRateLimitReconcilerTest {
+
+    private final TokenBucketStore store = new TokenBucketStore(4, Duration.ofMillis(20));
+    private final ReactiveStringRedisTemplate redisTemplate = mock(ReactiveStringRedisTemplate.class);
+
+    @Test
+    void evictsUsedIdleBucketsWhenReconcileIsDisabled() throws InterruptedException {
+        RedisRateLimitReconciler reconciler = new RedisRateLimitReconciler(store, redisTemplate, false, Duration.ofSeconds(1));
+        for (int i = 0; i < 100; i++) {
+            store.bucket("booking-service", "ip-" + i, 10, 1000, System.nanoTime()).tryConsume(1, System.nanoTime());
+        }
+
+        reconciler.reconcile();
+        assertEquals(100, store.size());
+
+        // Past the idle timeout, and long enough to refill one permit at 1000/s
+        Thread.sleep(50);
+        reconciler.reconcile();
+
+        assertEquals(0, store.size());
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void keepsBucketsThatAreStillRefilling() throws InterruptedException {
+        RedisRateLimitReconciler reconciler = new RedisRateLimitReconciler(store, redisTemplate, false, Duration.ofSeconds(1));
+        // One permit per second, so the bucket is still short of capacity after the idle timeout
+        store.bucket("booking-service", "ip-1", 10, 1, System.nanoTime()).tryConsume(5, System.nanoTime());
+
+        Thread.sleep(50);
+        reconciler.reconcile();
+
+        assertEquals(1, store.size());
+    }
+}
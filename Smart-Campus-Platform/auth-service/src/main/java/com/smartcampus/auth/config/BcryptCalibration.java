@@ -0,0 +1,68 @@
+package com.smartcampus.auth.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * With app.login.calibrate=true, times BCrypt on this machine for a range of costs at startup and
+ * logs the highest cost that stays within app.login.target-latency, next to the configured one.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.login.calibrate", havingValue = "true")
+public class BcryptCalibration {
+
+    private static final int SAMPLES = 3;
+    // Lowest cost BCryptPasswordEncoder accepts
+    private static final int MIN_STRENGTH = 4;
+
+    private final int configuredStrength;
+    private final Duration targetLatency;
+
+    public BcryptCalibration(@Value("${app.login.bcrypt-strength:10}") int configuredStrength,
+                             @Value("${app.login.target-latency:250ms}") Duration targetLatency) {
+        this.configuredStrength = configuredStrength;
+        this.targetLatency = targetLatency;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void calibrate() {
+        int recommended = 0;
+        for (int strength = MIN_STRENGTH; strength <= 14; strength++) {
+            long millis = medianHashMillis(strength);
+            log.info("BCrypt cost {}: {} ms per hash{}", strength, millis,
+                    strength == configuredStrength ? " (configured)" : "");
+            if (millis > targetLatency.toMillis()) {
+                break;
+            }
+            recommended = strength;
+        }
+        if (recommended == 0) {
+            log.warn("BCrypt calibration: no cost stays within {} ms on this machine, configured is {}",
+                    targetLatency.toMillis(), configuredStrength);
+            return;
+        }
+        log.info("BCrypt calibration: highest cost within {} ms is {}, configured is {}",
+                targetLatency.toMillis(), recommended, configuredStrength);
+    }
+
+    private static long medianHashMillis(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long[] millis = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration-password");
+            millis[i] = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        }
+        Arrays.sort(millis);
+        return millis[SAMPLES / 2];
+    }
+}
@@ -1,7 +1,8 @@
 package com.smartcampus.auth.config;
 
 import com.smartcampus.auth.security.JwtAuthenticationFilter;
-import com.smartcampus.auth.service.JwtService;
+import com.smartcampus.common.security.JwtVerifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -23,9 +24,9 @@ public class SecurityConfig {
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http, 
-                                                   JwtService jwtService, 
+                                                   JwtVerifier jwtVerifier, 
                                                    UserDetailsService userDetailsService) throws Exception {
-        JwtAuthenticationFilter jwtFilter = new JwtAuthenticationFilter(jwtService, userDetailsService);
+        JwtAuthenticationFilter jwtFilter = new JwtAuthenticationFilter(jwtVerifier, userDetailsService);
         
         http
                 .csrf(csrf -> csrf.disable())
@@ -41,8 +42,9 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.login.bcrypt-strength:10}") int strength) {
+        // Existing hashes keep their own cost; see BcryptCalibration for choosing one
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
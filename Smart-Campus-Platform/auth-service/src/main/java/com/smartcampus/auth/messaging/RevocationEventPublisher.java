@@ -0,0 +1,32 @@
+package com.smartcampus.auth.messaging;
+
+import com.smartcampus.auth.config.RabbitConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RevocationEventPublisher {
+
+    private final RabbitTemplate rabbitTemplate;
+
+    public void publish(Map<String, Object> payload) {
+        try {
+            Map<String, Object> message = Map.of(
+                    "eventType", "TOKEN_REVOKED",
+                    "payload", payload,
+                    "timestamp", System.currentTimeMillis()
+            );
+            rabbitTemplate.convertAndSend(RabbitConfig.REVOCATIONS_EXCHANGE, "", message);
+            log.info("Published revocation: {}", payload);
+        } catch (Exception e) {
+            // Gateways still pick it up from /admin/revocations on their next rebuild
+            log.error("Failed to publish revocation: {}", payload, e);
+        }
+    }
+}
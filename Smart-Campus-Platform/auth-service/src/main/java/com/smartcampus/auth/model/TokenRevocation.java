@@ -0,0 +1,45 @@
+package com.smartcampus.auth.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A revoked token (by jti) or subject (by username, every token issued up to revokedAt).
+ * Kept until expiresAt, after which every token it covers has expired anyway.
+ */
+@Entity
+@Table(name = "token_revocations", indexes = @Index(name = "idx_token_revocations_expires_at", columnList = "expiresAt"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TokenRevocation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Kind kind;
+
+    @Column(name = "revoked_value", nullable = false)
+    private String value;
+
+    @Column(nullable = false)
+    private Instant revokedAt;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    public enum Kind {
+        TOKEN,
+        SUBJECT
+    }
+}
@@ -14,7 +14,7 @@ import java.util.Collection;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_tenant_role_username", columnList = "tenantId, role, username"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,12 @@
+package com.smartcampus.auth.repository;
+
+import com.smartcampus.auth.model.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+    List<TokenRevocation> findByExpiresAtAfter(Instant now);
+    void deleteByExpiresAtBefore(Instant now);
+}
@@ -0,0 +1,4 @@
+package com.smartcampus.auth.repository;
+
+public record UserDisplayName(String username, String fullName) {
+}
@@ -2,13 +2,35 @@ package com.smartcampus.auth.repository;
 
 import com.smartcampus.auth.model.Role;
 import com.smartcampus.auth.model.UserAccount;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<UserAccount, Long> {
     Optional<UserAccount> findByUsername(String username);
-    List<UserAccount> findByTenantIdAndRole(String tenantId, Role role);
-}
 
+    // Keyset page: usernames after the cursor, in (tenant_id, role, username) index order
+    @Query("""
+            select new com.smartcampus.auth.repository.UserSummary(u.id, u.username, u.fullName, u.role)
+            from UserAccount u
+            where u.tenantId = :tenantId and u.role = :role and u.username > :after
+              and (lower(u.username) like :prefix escape '\\' or lower(u.fullName) like :prefix escape '\\')
+            order by u.username""")
+    List<UserSummary> findSummaries(@Param("tenantId") String tenantId,
+                                    @Param("role") Role role,
+                                    @Param("after") String after,
+                                    @Param("prefix") String prefix,
+                                    Limit limit);
+
+    @Query("""
+            select new com.smartcampus.auth.repository.UserDisplayName(u.username, u.fullName)
+            from UserAccount u
+            where u.tenantId = :tenantId and u.username in :usernames""")
+    List<UserDisplayName> findDisplayNames(@Param("tenantId") String tenantId,
+                                           @Param("usernames") Collection<String> usernames);
+}
@@ -0,0 +1,9 @@
+package com.smartcampus.auth.repository;
+
+import com.smartcampus.auth.model.Role;
+
+/**
+ * What user listings need from UserAccount, without the password hash.
+ */
+public record UserSummary(Long id, String username, String fullName, Role role) {
+}
@@ -1,7 +1,8 @@
 package com.smartcampus.auth.security;
 
-import com.smartcampus.auth.service.JwtService;
-import com.smartcampus.auth.tenant.TenantContext;
+import com.smartcampus.common.security.AuthenticatedPrincipal;
+import com.smartcampus.common.security.JwtVerifier;
+import com.smartcampus.common.tenant.TenantContext;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,11 +19,11 @@ import java.io.IOException;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtService jwtService;
+    private final JwtVerifier jwtVerifier;
     private final UserDetailsService userDetailsService;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
-        this.jwtService = jwtService;
+    public JwtAuthenticationFilter(JwtVerifier jwtVerifier, UserDetailsService userDetailsService) {
+        this.jwtVerifier = jwtVerifier;
         this.userDetailsService = userDetailsService;
     }
 
@@ -36,17 +37,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        final String jwt = authHeader.substring(7);
-        final String username = jwtService.extractUsername(jwt);
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-                TenantContext.setTenantId(jwtService.extractTenant(jwt));
-            }
+        // Signature and expiry are verified once; the user record still comes from the database
+        final AuthenticatedPrincipal principal = jwtVerifier.authenticate(authHeader.substring(7));
+        if (principal.username() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(principal.username());
+            UsernamePasswordAuthenticationToken authToken =
+                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+            TenantContext.setPrincipal(principal);
         }
         try {
             filterChain.doFilter(request, response);
@@ -55,4 +54,3 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
     }
 }
-
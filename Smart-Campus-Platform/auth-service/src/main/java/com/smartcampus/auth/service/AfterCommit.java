@@ -0,0 +1,30 @@
+package com.smartcampus.auth.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers side effects that other readers act on (cache evictions, published events) until the
+ * current transaction commits, so they never reflect a change that is later rolled back.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Runs the action once the current transaction commits, or right away outside one.
+     */
+    static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,94 @@
+package com.smartcampus.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smartcampus.auth.repository.UserDisplayName;
+import com.smartcampus.auth.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves usernames stored by the other services to display names, for a whole list at once.
+ * Names are cached per tenant; all usernames missing from the cache are loaded with one query.
+ * Unknown usernames are cached too (as absent) until a user with that name is created.
+ * Hit/miss/eviction counts are exposed as cache.* metrics with cache=auth.display-names
+ */
+@Service
+public class DisplayNameService {
+
+    // Cached for usernames that do not exist in the tenant
+    private static final String ABSENT = "";
+
+    private final UserRepository userRepository;
+    private final int maxUsernames;
+    private final Cache<Key, String> cache;
+
+    public DisplayNameService(UserRepository userRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.display-names.max-usernames:200}") int maxUsernames,
+                              @Value("${app.display-names.cache.max-size:50000}") long maxSize,
+                              @Value("${app.display-names.cache.ttl:10m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.maxUsernames = maxUsernames;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.display-names");
+    }
+
+    /**
+     * username -> full name (the username itself if the user has none), in request order.
+     * Usernames unknown in the tenant are left out. Throws IllegalArgumentException for more
+     * than app.display-names.max-usernames usernames.
+     */
+    public Map<String, String> resolve(String tenantId, List<String> usernames) {
+        Set<Key> keys = usernames.stream()
+                .filter(username -> username != null && !username.isBlank())
+                .map(username -> new Key(tenantId, username))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (keys.size() > maxUsernames) {
+            throw new IllegalArgumentException("At most " + maxUsernames + " usernames per request");
+        }
+
+        Map<Key, String> names = cache.getAll(keys, this::load);
+        Map<String, String> resolved = new LinkedHashMap<>();
+        keys.forEach(key -> {
+            String name = names.get(key);
+            if (name != null && !ABSENT.equals(name)) {
+                resolved.put(key.username(), name);
+            }
+        });
+        return resolved;
+    }
+
+    public void invalidate(String tenantId, String username) {
+        cache.invalidate(new Key(tenantId, username));
+    }
+
+    private Map<Key, String> load(Set<? extends Key> missing) {
+        String tenantId = missing.iterator().next().tenantId();
+        Map<Key, String> loaded = new HashMap<>();
+        missing.forEach(key -> loaded.put(key, ABSENT));
+        for (UserDisplayName user : userRepository.findDisplayNames(tenantId, missing.stream().map(Key::username).toList())) {
+            loaded.put(new Key(tenantId, user.username()),
+                    user.fullName() != null && !user.fullName().isBlank() ? user.fullName() : user.username());
+        }
+        return loaded;
+    }
+
+    private record Key(String tenantId, String username) {
+    }
+}
@@ -1,72 +1,35 @@
 package com.smartcampus.auth.service;
 
-import io.jsonwebtoken.Claims;
+import com.smartcampus.common.security.JwtVerifier;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.security.Key;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.UUID;
 
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
-    @Value("${app.jwt.secret}")
-    private String secret;
+    public static final Duration TOKEN_LIFETIME = Duration.ofHours(10);
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
-
-    public String extractTenant(String token) {
-        return (String) extractAllClaims(token).get("tenantId");
-    }
-
-    public <T> T extractClaim(String token, Function<Claims, T> resolver) {
-        return resolver.apply(extractAllClaims(token));
-    }
+    // Shared with verification so the HMAC key is decoded once per process
+    private final JwtVerifier jwtVerifier;
 
     public String generateToken(String username, String role, String tenantId) {
         return Jwts.builder()
                 .setClaims(Map.of("role", role, "tenantId", tenantId))
                 .setSubject(username)
+                // jti, so a single token can be revoked (logout)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date())
-                .setExpiration(Date.from(Instant.now().plusSeconds(60 * 60 * 10)))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .setExpiration(Date.from(Instant.now().plus(TOKEN_LIFETIME)))
+                .signWith(jwtVerifier.getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
-
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
 }
-
@@ -0,0 +1,119 @@
+package com.smartcampus.auth.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs password checks (BCrypt, via the AuthenticationManager) on a small dedicated pool instead of
+ * the servlet threads, so a login storm cannot starve the other endpoints. Logins beyond the
+ * pool's queue fail fast with RejectedExecutionException, and a login still waiting after
+ * app.login.timeout fails with TimeoutException. Identical attempts (same username and password)
+ * that arrive while one is running share its result instead of hashing again.
+ */
+@Slf4j
+@Service
+public class LoginService {
+
+    private final AuthenticationManager authenticationManager;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final ConcurrentHashMap<String, CompletableFuture<Authentication>> inFlight = new ConcurrentHashMap<>();
+    private final Counter rejected;
+    private final Counter coalesced;
+
+    public LoginService(AuthenticationManager authenticationManager,
+                        MeterRegistry meterRegistry,
+                        @Value("${app.login.threads:0}") int threads,
+                        @Value("${app.login.queue-capacity:200}") int queueCapacity,
+                        @Value("${app.login.timeout:5s}") Duration timeout) {
+        this.authenticationManager = authenticationManager;
+        this.timeout = timeout;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("bcrypt-"));
+
+        Gauge.builder("auth.login.queued", executor, e -> e.getQueue().size())
+                .description("Logins waiting for a password check thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password checks running")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.login.rejected")
+                .description("Logins refused because the password check queue was full")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("auth.login.coalesced")
+                .description("Logins that shared the result of an identical attempt in progress")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Completes with the authenticated user, or exceptionally with the AuthenticationException,
+     * RejectedExecutionException (queue full) or TimeoutException.
+     */
+    public CompletableFuture<Authentication> authenticate(String username, String password) {
+        String key = username + ':' + digest(password);
+        CompletableFuture<Authentication> attempt = new CompletableFuture<>();
+        CompletableFuture<Authentication> running = inFlight.putIfAbsent(key, attempt);
+        if (running != null) {
+            coalesced.increment();
+            return running;
+        }
+        attempt.whenComplete((authentication, e) -> inFlight.remove(key, attempt));
+
+        try {
+            executor.execute(() -> {
+                // Timed out while queued: the caller is gone, skip the hash
+                if (attempt.isDone()) {
+                    return;
+                }
+                try {
+                    attempt.complete(authenticationManager.authenticate(
+                            new UsernamePasswordAuthenticationToken(username, password)));
+                } catch (Exception e) {
+                    attempt.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Login queue full, rejecting login for {}", username);
+            attempt.completeExceptionally(e);
+        }
+        return attempt.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // Coalescing key only: never stored beyond the attempt
+    private static String digest(String password) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(password.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.smartcampus.auth.service;
+
+import com.smartcampus.auth.messaging.RevocationEventPublisher;
+import com.smartcampus.auth.model.TokenRevocation;
+import com.smartcampus.auth.repository.TokenRevocationRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores revocations and publishes them to the gateways, which reject matching tokens
+ * without calling this service.
+ */
+@Service
+@RequiredArgsConstructor
+public class RevocationService {
+
+    private final TokenRevocationRepository revocationRepository;
+    private final RevocationEventPublisher publisher;
+
+    /**
+     * Revokes every token issued to the user so far.
+     */
+    @Transactional
+    public void revokeSubject(String username) {
+        Instant now = Instant.now();
+        revoke(TokenRevocation.Kind.SUBJECT, username, now, now.plus(JwtService.TOKEN_LIFETIME));
+    }
+
+    @Transactional
+    public void revokeToken(String tokenId, Instant tokenExpiresAt) {
+        revoke(TokenRevocation.Kind.TOKEN, tokenId, Instant.now(), tokenExpiresAt);
+    }
+
+    /**
+     * Revocations that still cover unexpired tokens, in the published payload shape.
+     */
+    public List<Map<String, Object>> active() {
+        return revocationRepository.findByExpiresAtAfter(Instant.now()).stream()
+                .map(RevocationService::toPayload)
+                .toList();
+    }
+
+    private void revoke(TokenRevocation.Kind kind, String value, Instant revokedAt, Instant expiresAt) {
+        revocationRepository.deleteByExpiresAtBefore(revokedAt);
+        TokenRevocation revocation = revocationRepository.save(TokenRevocation.builder()
+                .kind(kind)
+                .value(value)
+                .revokedAt(revokedAt)
+                .expiresAt(expiresAt)
+                .build());
+        // Inside deleteUser this joins its transaction; a rolled-back delete must not revoke anything
+        AfterCommit.run(() -> publisher.publish(toPayload(revocation)));
+    }
+
+    private static Map<String, Object> toPayload(TokenRevocation revocation) {
+        return Map.of(
+                "kind", revocation.getKind().name(),
+                "value", revocation.getValue(),
+                "revokedAt", revocation.getRevokedAt().toEpochMilli(),
+                "expiresAt", revocation.getExpiresAt().toEpochMilli()
+        );
+    }
+}
@@ -0,0 +1,46 @@
+package com.smartcampus.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smartcampus.auth.model.UserAccount;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of UserAccount by username in front of UserRepository.findByUsername, so
+ * authenticated requests and logins skip the query. Unknown usernames are not cached.
+ * UserService invalidates on create and delete; the ttl bounds staleness across instances.
+ * Hit/miss/eviction counts are exposed as cache.* metrics with cache=auth.users
+ */
+@Component
+public class UserAccountCache {
+
+    private final Cache<String, UserAccount> cache;
+
+    public UserAccountCache(MeterRegistry meterRegistry,
+                            @Value("${app.user-cache.max-size:10000}") long maxSize,
+                            @Value("${app.user-cache.ttl:60s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.users");
+    }
+
+    /**
+     * Cached account, or the loader's result; a loader exception is thrown as is and nothing is cached.
+     */
+    public UserAccount get(String username, Function<String, UserAccount> loader) {
+        return cache.get(username, loader);
+    }
+
+    public void invalidate(String username) {
+        cache.invalidate(username);
+    }
+}
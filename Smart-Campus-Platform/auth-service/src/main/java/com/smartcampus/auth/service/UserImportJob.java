@@ -0,0 +1,102 @@
+package com.smartcampus.auth.service;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress of one bulk user import. Row errors are kept up to MAX_ERRORS; the failed count
+ * keeps counting past that.
+ */
+public class UserImportJob {
+
+    private static final int MAX_ERRORS = 1000;
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    public record RowError(int line, String username, String message) {
+    }
+
+    @Getter
+    private final String id = UUID.randomUUID().toString();
+    @Getter
+    private final String tenantId;
+    private final Instant submittedAt = Instant.now();
+    @Getter
+    private volatile Status status = Status.QUEUED;
+    @Getter
+    private volatile Instant finishedAt;
+    private volatile String message;
+    private final AtomicInteger processed = new AtomicInteger();
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final List<RowError> errors = new ArrayList<>();
+
+    public UserImportJob(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    void started() {
+        status = Status.RUNNING;
+    }
+
+    void rowCreated() {
+        processed.incrementAndGet();
+        created.incrementAndGet();
+    }
+
+    void rowFailed(int line, String username, String error) {
+        processed.incrementAndGet();
+        failed.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(new RowError(line, username, error));
+            }
+        }
+    }
+
+    void finished(Status finalStatus, String finalMessage) {
+        message = finalMessage;
+        finishedAt = Instant.now();
+        status = finalStatus;
+    }
+
+    public int getCreated() {
+        return created.get();
+    }
+
+    public int getFailed() {
+        return failed.get();
+    }
+
+    public boolean isDone() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("id", id);
+        snapshot.put("status", status);
+        snapshot.put("submittedAt", submittedAt);
+        snapshot.put("finishedAt", finishedAt);
+        snapshot.put("processed", processed.get());
+        snapshot.put("created", created.get());
+        snapshot.put("failed", failed.get());
+        snapshot.put("message", message);
+        synchronized (errors) {
+            snapshot.put("errors", List.copyOf(errors));
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,144 @@
+package com.smartcampus.auth.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads user rows from a spooled import file one line at a time. CSV needs a header row naming
+ * username, password and optionally role and fullName, in any order; NDJSON has one
+ * {"username": ..., "password": ..., "role": ..., "fullName": ...} object per line.
+ * A line that cannot be parsed becomes a row with an error instead of stopping the import.
+ */
+public class UserImportReader implements Closeable {
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    /**
+     * @param line  1-based line number in the file, for error reports
+     * @param error set when the line could not be parsed
+     */
+    public record Row(int line, String username, String password, String role, String fullName, String error) {
+    }
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private Map<String, Integer> columns;
+    private int line;
+
+    public UserImportReader(BufferedReader reader, Format format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Next row, or null at the end of the file. Throws IllegalArgumentException for a CSV
+     * header without username and password columns.
+     */
+    public Row next() throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (line == 1 && text.startsWith("\uFEFF")) {
+                text = text.substring(1);
+            }
+            if (text.isBlank()) {
+                continue;
+            }
+            if (format == Format.NDJSON) {
+                return jsonRow(text);
+            }
+            if (columns == null) {
+                columns = header(text);
+                continue;
+            }
+            return csvRow(text);
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Row jsonRow(String text) {
+        try {
+            JsonNode node = objectMapper.readTree(text);
+            return new Row(line, trimmed(node.path("username").asText(null)), node.path("password").asText(null),
+                    trimmed(node.path("role").asText(null)), trimmed(node.path("fullName").asText(null)), null);
+        } catch (JsonProcessingException e) {
+            return new Row(line, null, null, null, null, "Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private Row csvRow(String text) {
+        List<String> fields = splitCsv(text);
+        return new Row(line, trimmed(field(fields, "username")), field(fields, "password"),
+                trimmed(field(fields, "role")), trimmed(field(fields, "fullname")), null);
+    }
+
+    private static Map<String, Integer> header(String text) {
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsv(text);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("username") || !columns.containsKey("password")) {
+            throw new IllegalArgumentException("CSV header must name the username and password columns");
+        }
+        return columns;
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        return index != null && index < fields.size() ? fields.get(index) : null;
+    }
+
+    private static String trimmed(String value) {
+        return value != null && !value.isBlank() ? value.trim() : null;
+    }
+
+    // RFC 4180 quoting ("a, b" and "" for a quote) within one line
+    private static List<String> splitCsv(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
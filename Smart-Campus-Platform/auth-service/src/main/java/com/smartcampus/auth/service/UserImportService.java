@@ -0,0 +1,233 @@
+package com.smartcampus.auth.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartcampus.auth.model.Role;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Bulk user creation for semester onboarding. The upload is spooled to a temp file so the request
+ * returns right away; imports then run one at a time in the background. Rows are validated one by
+ * one, their passwords hashed in parallel on a dedicated pool, and inserted in JDBC batches of
+ * batch-size with ON CONFLICT DO NOTHING. A bad row or an existing username is recorded on the job
+ * and the import carries on.
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    private static final String INSERT_SQL = "INSERT INTO users (username, password, role, tenant_id, full_name) "
+            + "VALUES (?, ?, ?, ?, ?) ON CONFLICT (username) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final DisplayNameService displayNameService;
+    private final int batchSize;
+    private final long maxBytes;
+    private final Duration retention;
+    private final ExecutorService jobExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("user-import-"));
+    private final ExecutorService hashExecutor;
+    private final ConcurrentHashMap<String, UserImportJob> jobs = new ConcurrentHashMap<>();
+
+    public UserImportService(JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             PasswordEncoder passwordEncoder,
+                             ObjectMapper objectMapper,
+                             DisplayNameService displayNameService,
+                             @Value("${app.user-import.batch-size:500}") int batchSize,
+                             @Value("${app.user-import.hash-threads:0}") int hashThreads,
+                             @Value("${app.user-import.max-size:50MB}") DataSize maxSize,
+                             @Value("${app.user-import.retention:1h}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.displayNameService = displayNameService;
+        this.batchSize = batchSize;
+        this.maxBytes = maxSize.toBytes();
+        this.retention = retention;
+        this.hashExecutor = Executors.newFixedThreadPool(hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors(),
+                new CustomizableThreadFactory("user-import-hash-"));
+    }
+
+    /**
+     * Spools the upload and queues the import. Throws IllegalArgumentException if the upload
+     * exceeds app.user-import.max-size.
+     */
+    public UserImportJob start(InputStream body, UserImportReader.Format format, String tenantId) throws IOException {
+        Path file = Files.createTempFile("user-import-", format == UserImportReader.Format.CSV ? ".csv" : ".ndjson");
+        try {
+            spool(body, file);
+        } catch (IOException | IllegalArgumentException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.isDone() && job.getFinishedAt().isBefore(cutoff));
+
+        UserImportJob job = new UserImportJob(tenantId);
+        jobs.put(job.getId(), job);
+        jobExecutor.execute(() -> run(job, file, format));
+        return job;
+    }
+
+    /**
+     * The job, if it exists and belongs to the tenant.
+     */
+    public UserImportJob find(String jobId, String tenantId) {
+        UserImportJob job = jobs.get(jobId);
+        return job != null && job.getTenantId().equals(tenantId) ? job : null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        hashExecutor.shutdownNow();
+    }
+
+    private void spool(InputStream body, Path file) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long total = 0;
+        try (OutputStream out = Files.newOutputStream(file)) {
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                total += read;
+                if (total > maxBytes) {
+                    throw new IllegalArgumentException("Import file is larger than " + maxBytes + " bytes");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private void run(UserImportJob job, Path file, UserImportReader.Format format) {
+        job.started();
+        try (UserImportReader reader = new UserImportReader(Files.newBufferedReader(file, StandardCharsets.UTF_8), format, objectMapper)) {
+            List<UserImportReader.Row> batch = new ArrayList<>(batchSize);
+            UserImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                String error = validate(row);
+                if (error != null) {
+                    job.rowFailed(row.line(), row.username(), error);
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    insert(job, batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                insert(job, batch);
+            }
+            job.finished(UserImportJob.Status.COMPLETED, null);
+            log.info("User import {} finished: {} created, {} failed", job.getId(), job.getCreated(), job.getFailed());
+        } catch (Exception e) {
+            log.error("User import {} failed", job.getId(), e);
+            job.finished(UserImportJob.Status.FAILED, e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete import file {}", file, e);
+            }
+        }
+    }
+
+    private static String validate(UserImportReader.Row row) {
+        if (row.error() != null) {
+            return row.error();
+        }
+        if (row.username() == null) {
+            return "username is required";
+        }
+        if (row.password() == null || row.password().isBlank()) {
+            return "password is required";
+        }
+        Role role = role(row);
+        if (role == null) {
+            return "Unknown role " + row.role();
+        }
+        if (role == Role.FACULTY) {
+            return "Cannot create faculty via import";
+        }
+        return null;
+    }
+
+    // Onboarding files are mostly students, so the role column may be left out
+    private static Role role(UserImportReader.Row row) {
+        if (row.role() == null) {
+            return Role.STUDENT;
+        }
+        try {
+            return Role.valueOf(row.role().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void insert(UserImportJob job, List<UserImportReader.Row> batch) {
+        List<CompletableFuture<String>> hashes = batch.stream()
+                .map(row -> CompletableFuture.supplyAsync(() -> passwordEncoder.encode(row.password()), hashExecutor))
+                .toList();
+        List<Object[]> args = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            UserImportReader.Row row = batch.get(i);
+            args.add(new Object[]{row.username(), hashes.get(i).join(), role(row).name(), job.getTenantId(), row.fullName()});
+        }
+
+        int[] counts;
+        try {
+            counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(INSERT_SQL, args));
+        } catch (DataAccessException e) {
+            // One bad row rolls back the batch; find it by inserting the rows one at a time
+            log.debug("Import batch failed, retrying row by row: {}", e.getMessage());
+            counts = new int[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    counts[i] = jdbcTemplate.update(INSERT_SQL, args.get(i));
+                } catch (DataAccessException rowError) {
+                    counts[i] = Statement.EXECUTE_FAILED;
+                    job.rowFailed(batch.get(i).line(), batch.get(i).username(), rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                job.rowCreated();
+                // The username may have been cached as unknown before the import
+                displayNameService.invalidate(job.getTenantId(), batch.get(i).username());
+            } else if (counts[i] == 0) {
+                job.rowFailed(batch.get(i).line(), batch.get(i).username(), "Username already exists");
+            }
+        }
+    }
+}
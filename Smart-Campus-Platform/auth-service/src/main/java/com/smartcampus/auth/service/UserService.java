@@ -3,9 +3,11 @@ package com.smartcampus.auth.service;
 import com.smartcampus.auth.model.Role;
 import com.smartcampus.auth.model.UserAccount;
 import com.smartcampus.auth.repository.UserRepository;
-import com.smartcampus.auth.tenant.TenantContext;
+import com.smartcampus.auth.repository.UserSummary;
+import com.smartcampus.common.tenant.TenantContext;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.lang.NonNull;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -13,7 +15,10 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
+import java.util.Locale;
 
 @Service
 @RequiredArgsConstructor
@@ -21,16 +26,30 @@ public class UserService implements UserDetailsService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final RevocationService revocationService;
+    private final UserAccountCache userAccountCache;
+    private final DisplayNameService displayNameService;
 
     @Override
     public @NonNull UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        UserAccount account = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        return account;
+        // UserAccount does not erase its credentials after login, so the shared instance stays intact
+        return userAccountCache.get(username, name -> userRepository.findByUsername(name)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found")));
     }
 
-    public List<UserAccount> listUsersByRole(Role role) {
-        return userRepository.findByTenantIdAndRole(TenantContext.getTenantId(), role);
+    /**
+     * One page of the tenant's users with the role, ordered by username, starting after the cursor.
+     * q filters by case-insensitive prefix of username or full name.
+     */
+    public UserPage listUsers(Role role, String cursor, String q, int limit) {
+        String after = cursor != null ? decodeCursor(cursor) : "";
+        String prefix = q != null && !q.isBlank() ? escapeLike(q.trim().toLowerCase(Locale.ROOT)) + "%" : "%";
+        List<UserSummary> users = userRepository.findSummaries(TenantContext.getTenantId(), role, after, prefix, Limit.of(limit + 1));
+        if (users.size() <= limit) {
+            return new UserPage(users, null);
+        }
+        List<UserSummary> page = users.subList(0, limit);
+        return new UserPage(page, encodeCursor(page.get(limit - 1).username()));
     }
 
     @Transactional
@@ -45,7 +64,13 @@ public class UserService implements UserDetailsService {
                 .tenantId(TenantContext.getTenantId())
                 .fullName(fullName)
                 .build();
-        return userRepository.save(account);
+        UserAccount saved = userRepository.save(account);
+        AfterCommit.run(() -> {
+            userAccountCache.invalidate(username);
+            // The username may have been cached as unknown
+            displayNameService.invalidate(saved.getTenantId(), username);
+        });
+        return saved;
     }
 
     @Transactional
@@ -64,6 +89,33 @@ public class UserService implements UserDetailsService {
         }
         
         userRepository.delete(user);
+        AfterCommit.run(() -> {
+            userAccountCache.invalidate(user.getUsername());
+            displayNameService.invalidate(user.getTenantId(), user.getUsername());
+        });
+        // Outstanding tokens stay valid for hours otherwise
+        revocationService.revokeSubject(user.getUsername());
+    }
+
+    private static String encodeCursor(String username) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(username.getBytes(StandardCharsets.UTF_8));
     }
-}
 
+    private static String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * @param nextCursor pass as cursor for the following page; null on the last page
+     */
+    public record UserPage(List<UserSummary> users, String nextCursor) {
+    }
+}
@@ -1,11 +1,44 @@
 package com.smartcampus.auth.web;
 
+import com.smartcampus.auth.service.RevocationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/admin")
 public class AdminController {
 
-    // Admin endpoints can be added here in the future
+    public static final String REVOCATION_TOKEN_HEADER = "X-Revocation-Token";
+
+    private final RevocationService revocationService;
+    private final byte[] revocationToken;
+
+    /**
+     * @param revocationToken shared with the gateways (app.revocation.token); blank keeps /admin/revocations closed
+     */
+    public AdminController(RevocationService revocationService,
+                           @Value("${app.revocation.token:}") String revocationToken) {
+        this.revocationService = revocationService;
+        this.revocationToken = revocationToken.isBlank() ? null : revocationToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Gateways load it at startup and on every rebuild of their revocation list. /admin/** is not behind
+    // the JWT filter and the port may be published, so the shared token is required.
+    @GetMapping("/revocations")
+    public ResponseEntity<?> revocations(@RequestHeader(value = REVOCATION_TOKEN_HEADER, required = false) String token) {
+        if (revocationToken == null || token == null
+                || !MessageDigest.isEqual(revocationToken, token.getBytes(StandardCharsets.UTF_8))) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Invalid revocation token"));
+        }
+        return ResponseEntity.ok(revocationService.active());
+    }
 }
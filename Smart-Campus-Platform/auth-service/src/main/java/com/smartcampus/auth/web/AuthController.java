@@ -2,21 +2,38 @@ package com.smartcampus.auth.web;
 
 import com.smartcampus.auth.model.Role;
 import com.smartcampus.auth.model.UserAccount;
+import com.smartcampus.auth.service.DisplayNameService;
 import com.smartcampus.auth.service.JwtService;
+import com.smartcampus.auth.service.LoginService;
+import com.smartcampus.auth.service.RevocationService;
+import com.smartcampus.auth.service.UserImportJob;
+import com.smartcampus.auth.service.UserImportReader;
+import com.smartcampus.auth.service.UserImportService;
 import com.smartcampus.auth.service.UserService;
+import com.smartcampus.common.security.JwtVerifier;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 
 @RestController
 @RequestMapping("/auth")
@@ -24,19 +41,37 @@ import java.util.Map;
 @Validated
 public class AuthController {
 
-    private final AuthenticationManager authenticationManager;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final LoginService loginService;
     private final JwtService jwtService;
     private final UserService userService;
+    private final RevocationService revocationService;
+    private final UserImportService userImportService;
+    private final DisplayNameService displayNameService;
+    private final JwtVerifier jwtVerifier;
 
+    // Password check runs on LoginService's pool; the servlet thread is released meanwhile
     @PostMapping("/login")
-    public ResponseEntity<Map<String, String>> login(@RequestBody @Valid LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.username(), request.password()));
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        UserDetails user = (UserDetails) authentication.getPrincipal();
-        UserAccount account = (UserAccount) user;
-        String token = jwtService.generateToken(user.getUsername(), account.getRole().name(), account.getTenantId());
-        return ResponseEntity.ok(Map.of("token", token, "role", account.getRole().name(), "tenantId", account.getTenantId()));
+    public CompletableFuture<ResponseEntity<Map<String, String>>> login(@RequestBody @Valid LoginRequest request) {
+        return loginService.authenticate(request.username(), request.password())
+                .thenApply(authentication -> {
+                    UserAccount account = (UserAccount) authentication.getPrincipal();
+                    String token = jwtService.generateToken(account.getUsername(), account.getRole().name(), account.getTenantId());
+                    return ResponseEntity.ok(Map.of("token", token, "role", account.getRole().name(), "tenantId", account.getTenantId()));
+                })
+                .exceptionally(AuthController::loginFailure);
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Map<String, String>> logout(@RequestHeader("Authorization") String authHeader) {
+        Claims claims = jwtVerifier.parseClaims(authHeader.substring(7));
+        if (claims.getId() == null) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Token has no id and cannot be revoked"));
+        }
+        revocationService.revokeToken(claims.getId(), claims.getExpiration().toInstant());
+        return ResponseEntity.ok(Map.of("message", "Logged out"));
     }
 
     @GetMapping("/me")
@@ -50,6 +85,17 @@ public class AuthController {
         ));
     }
 
+    // username -> display name for the caller's tenant; unknown usernames are left out of the map
+    @PostMapping("/users/resolve")
+    public ResponseEntity<?> resolve(@RequestBody @Valid ResolveRequest request) {
+        UserAccount account = (UserAccount) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        try {
+            return ResponseEntity.ok(displayNameService.resolve(account.getTenantId(), request.usernames()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
     @PostMapping("/faculty/users")
     public ResponseEntity<UserAccount> createUser(@RequestBody @Valid CreateUserRequest request) {
         UserAccount account = (UserAccount) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
@@ -59,13 +105,56 @@ public class AuthController {
         return ResponseEntity.ok(userService.createUser(request.username(), request.password(), request.role(), request.fullName()));
     }
 
+    // Still a plain array; X-Next-Cursor carries the cursor for the next page when there is one
     @GetMapping("/faculty/users")
-    public ResponseEntity<?> listByRole(@RequestParam Role role) {
+    public ResponseEntity<?> listByRole(@RequestParam Role role,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(required = false) String q,
+                                        @RequestParam(defaultValue = "100") int limit) {
         UserAccount account = (UserAccount) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         if (account.getRole() != Role.FACULTY) {
             return ResponseEntity.status(403).build();
         }
-        return ResponseEntity.ok(userService.listUsersByRole(role));
+        try {
+            UserService.UserPage page = userService.listUsers(role, cursor, q, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.nextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+            }
+            return response.body(page.users());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    // Streams the CSV/NDJSON body to disk and answers 202; poll the Location for progress and row errors
+    @PostMapping(value = "/faculty/users/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<?> importUsers(HttpServletRequest request) throws IOException {
+        UserAccount account = (UserAccount) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (account.getRole() != Role.FACULTY) {
+            return ResponseEntity.status(403).build();
+        }
+        UserImportReader.Format format = MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+                ? UserImportReader.Format.NDJSON
+                : UserImportReader.Format.CSV;
+        try {
+            UserImportJob job = userImportService.start(request.getInputStream(), format, account.getTenantId());
+            return ResponseEntity.accepted()
+                    .location(URI.create("/auth/faculty/users/import/" + job.getId()))
+                    .body(job.snapshot());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/faculty/users/import/{jobId}")
+    public ResponseEntity<?> importStatus(@PathVariable String jobId) {
+        UserAccount account = (UserAccount) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (account.getRole() != Role.FACULTY) {
+            return ResponseEntity.status(403).build();
+        }
+        UserImportJob job = userImportService.find(jobId, account.getTenantId());
+        return job != null ? ResponseEntity.ok(job.snapshot()) : ResponseEntity.notFound().build();
     }
 
     @DeleteMapping("/faculty/users/{userId}")
@@ -78,11 +167,26 @@ public class AuthController {
         return ResponseEntity.ok(Map.of("message", "User deleted successfully"));
     }
 
+    private static ResponseEntity<Map<String, String>> loginFailure(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        if (cause instanceof AuthenticationException) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Invalid username or password"));
+        }
+        if (cause instanceof RejectedExecutionException || cause instanceof TimeoutException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("message", "Too many logins in progress, please retry"));
+        }
+        throw failure instanceof CompletionException completion ? completion : new CompletionException(cause);
+    }
+
     public record LoginRequest(@NotBlank String username, @NotBlank String password) {}
 
     public record CreateUserRequest(@NotBlank String username,
                                     @NotBlank String password,
                                     Role role,
                                     String fullName) {}
+
+    public record ResolveRequest(@NotNull List<String> usernames) {}
 }
 
@@ -1,5 +1,9 @@
 package com.smartcampus.booking.config;
 
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -13,11 +17,36 @@ public class RabbitConfig {
 
     public static final String RESERVATION_EVENTS_QUEUE = "reservation.events";
 
+    // Published to a fanout exchange of the same name so other consumers (e.g. the gateway
+    // response cache) get their own copy without taking messages from this queue
+    public static final String RESERVATION_EVENTS_EXCHANGE = "reservation.events";
+
     @Bean
     public Queue reservationEventsQueue() {
         return new Queue(RESERVATION_EVENTS_QUEUE, true); // durable = true
     }
 
+    @Bean
+    public FanoutExchange reservationEventsExchange() {
+        return new FanoutExchange(RESERVATION_EVENTS_EXCHANGE, true, false);
+    }
+
+    @Bean
+    public Binding reservationEventsBinding() {
+        return BindingBuilder.bind(reservationEventsQueue()).to(reservationEventsExchange());
+    }
+
+    // Private auto-delete queue per instance, so every instance sees every change for its ReservationIndex
+    @Bean
+    public Queue reservationIndexQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding reservationIndexBinding() {
+        return BindingBuilder.bind(reservationIndexQueue()).to(reservationEventsExchange());
+    }
+
     @Bean
     public MessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
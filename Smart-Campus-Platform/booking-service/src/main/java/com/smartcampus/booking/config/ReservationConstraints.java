@@ -0,0 +1,71 @@
+package com.smartcampus.booking.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+
+/**
+ * Lets Postgres enforce that reservations of a resource never overlap, across all booking-service
+ * instances: a generated tsrange column (inclusive bounds, like ReservationIndex) and a GiST exclusion
+ * constraint on (resource_id, tenant_id, period). The constraint's index also serves range queries on
+ * period. Applied at startup after Hibernate has updated the schema; every statement is idempotent.
+ * Startup fails if they cannot be applied: AvailabilityService queries period, and without the
+ * constraint instances could double-book each other.
+ */
+@Component
+public class ReservationConstraints implements InitializingBean {
+
+    public static final String NO_OVERLAP = "reservations_no_overlap";
+
+    // SQLSTATE exclusion_violation
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    private static final String[] STATEMENTS = {
+            // Queried by AvailabilityService and covered by the constraint below
+            "ALTER TABLE reservations ADD COLUMN IF NOT EXISTS period tsrange "
+                    + "GENERATED ALWAYS AS (tsrange(start_time, end_time, '[]')) STORED",
+            // Needed for the = operator on resource_id and tenant_id inside a GiST index
+            "CREATE EXTENSION IF NOT EXISTS btree_gist",
+            "DO $$ BEGIN "
+                    + "IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = '" + NO_OVERLAP + "') THEN "
+                    + "ALTER TABLE reservations ADD CONSTRAINT " + NO_OVERLAP + " "
+                    + "EXCLUDE USING gist (resource_id WITH =, tenant_id WITH =, period WITH &&); "
+                    + "END IF; END $$"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // The EntityManagerFactory dependency makes this run after Hibernate created the reservations table
+    public ReservationConstraints(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        try {
+            for (String statement : STATEMENTS) {
+                jdbcTemplate.execute(statement);
+            }
+        } catch (DataAccessException e) {
+            // Typically overlapping rows from before the constraint, or btree_gist not installable by this role
+            throw new IllegalStateException("Could not add the " + NO_OVERLAP + " constraint; resolve overlapping "
+                    + "reservations or install btree_gist, then restart: " + e.getMostSpecificCause().getMessage(), e);
+        }
+    }
+
+    /**
+     * Whether the failure is an insert rejected by the no-overlap constraint.
+     */
+    public static boolean isOverlap(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && EXCLUSION_VIOLATION.equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,5 +1,6 @@
 package com.smartcampus.booking.messaging;
 
+import com.smartcampus.booking.config.RabbitConfig;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Component;
@@ -13,7 +14,11 @@ public class ReservationEventPublisher {
     private final RabbitTemplate rabbitTemplate;
 
     public void publish(String eventType, Map<String, Object> payload) {
-        rabbitTemplate.convertAndSend("reservation.events", payload);
+        // The body stays the bare payload existing consumers read; the event type travels as the AMQP type
+        rabbitTemplate.convertAndSend(RabbitConfig.RESERVATION_EVENTS_EXCHANGE, "", payload, message -> {
+            message.getMessageProperties().setType(eventType);
+            return message;
+        });
     }
 }
 
@@ -0,0 +1,47 @@
+package com.smartcampus.booking.messaging;
+
+import com.smartcampus.booking.service.ReservationIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Applies reservations created or cancelled by any booking-service instance (this one included;
+ * both operations are idempotent) to the local ReservationIndex.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationIndexListener {
+
+    private final ReservationIndex reservationIndex;
+
+    @RabbitListener(queues = "#{reservationIndexQueue.name}")
+    public void onEvent(Map<String, Object> payload, @Header(name = AmqpHeaders.TYPE, required = false) String eventType) {
+        if (eventType == null || !(payload.get("resourceId") instanceof Number resourceId) || payload.get("startTime") == null) {
+            return;
+        }
+        Long reservationId = ((Number) payload.get("reservationId")).longValue();
+        LocalDateTime start = LocalDateTime.parse(payload.get("startTime").toString());
+        switch (eventType) {
+            case "reservation.created" -> {
+                LocalDateTime end = LocalDateTime.parse(payload.get("endTime").toString());
+                reservationIndex.applyRemote(resourceId.longValue(), slots -> {
+                    slots.add(reservationId, start, end);
+                    return null;
+                });
+            }
+            case "reservation.cancelled" -> reservationIndex.applyRemote(resourceId.longValue(), slots -> {
+                slots.remove(reservationId, start);
+                return null;
+            });
+            default -> log.debug("Ignoring reservation event {}", eventType);
+        }
+    }
+}
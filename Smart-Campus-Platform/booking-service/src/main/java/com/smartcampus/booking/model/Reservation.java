@@ -11,7 +11,10 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = {
+        @Index(name = "idx_reservations_tenant_start", columnList = "tenantId, startTime"),
+        @Index(name = "idx_reservations_tenant_user_start", columnList = "tenantId, userId, startTime")
+})
 @Getter
 @Setter
 @NoArgsConstructor
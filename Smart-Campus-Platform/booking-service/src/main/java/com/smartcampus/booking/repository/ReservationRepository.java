@@ -2,29 +2,70 @@ package com.smartcampus.booking.repository;
 
 import com.smartcampus.booking.model.Reservation;
 import com.smartcampus.booking.model.Resource;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import jakarta.persistence.LockModeType;
 import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("select r from Reservation r where r.resource = :resource and r.tenantId = :tenantId and " +
-            "((r.startTime <= :endTime and r.endTime >= :startTime))")
-    List<Reservation> findConflicts(@Param("resource") Resource resource,
-                                    @Param("tenantId") String tenantId,
-                                    @Param("startTime") LocalDateTime startTime,
-                                    @Param("endTime") LocalDateTime endTime);
+    @Query("""
+            select new com.smartcampus.booking.repository.ReservationSlot(r.id, r.resource.id, r.startTime, r.endTime)
+            from Reservation r
+            where r.resource.id = :resourceId and r.endTime >= :from""")
+    List<ReservationSlot> findSlots(@Param("resourceId") Long resourceId, @Param("from") LocalDateTime from);
+
+    @Query("""
+            select new com.smartcampus.booking.repository.ReservationSlot(r.id, r.resource.id, r.startTime, r.endTime)
+            from Reservation r
+            where r.endTime >= :from""")
+    List<ReservationSlot> findSlotsEndingAfter(@Param("from") LocalDateTime from);
+
+    /**
+     * Reservations overlapping (from, to), after the (afterStart, afterId) keyset position, by start time.
+     * Served by idx_reservations_tenant_start.
+     */
+    @Query("""
+            select new com.smartcampus.booking.repository.ReservationView(
+                r.id, r.resource.id, r.resource.name, r.userId, r.startTime, r.endTime, r.tenantId)
+            from Reservation r
+            where r.tenantId = :tenantId
+              and (:resourceId is null or r.resource.id = :resourceId)
+              and r.startTime < :to and r.endTime > :from
+              and (r.startTime > :afterStart or (r.startTime = :afterStart and r.id > :afterId))
+            order by r.startTime, r.id""")
+    List<ReservationView> findViews(@Param("tenantId") String tenantId,
+                                    @Param("resourceId") Long resourceId,
+                                    @Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to,
+                                    @Param("afterStart") LocalDateTime afterStart,
+                                    @Param("afterId") long afterId,
+                                    Limit limit);
+
+    /**
+     * The same for one user, served by idx_reservations_tenant_user_start.
+     */
+    @Query("""
+            select new com.smartcampus.booking.repository.ReservationView(
+                r.id, r.resource.id, r.resource.name, r.userId, r.startTime, r.endTime, r.tenantId)
+            from Reservation r
+            where r.tenantId = :tenantId
+              and r.userId = :userId
+              and (:resourceId is null or r.resource.id = :resourceId)
+              and r.startTime < :to and r.endTime > :from
+              and (r.startTime > :afterStart or (r.startTime = :afterStart and r.id > :afterId))
+            order by r.startTime, r.id""")
+    List<ReservationView> findUserViews(@Param("tenantId") String tenantId,
+                                        @Param("userId") String userId,
+                                        @Param("resourceId") Long resourceId,
+                                        @Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to,
+                                        @Param("afterStart") LocalDateTime afterStart,
+                                        @Param("afterId") long afterId,
+                                        Limit limit);
 
-    List<Reservation> findByTenantId(String tenantId);
-    
     List<Reservation> findByResourceAndTenantId(Resource resource, String tenantId);
-    
-    List<Reservation> findByUserIdAndTenantId(String userId, String tenantId);
 }
-
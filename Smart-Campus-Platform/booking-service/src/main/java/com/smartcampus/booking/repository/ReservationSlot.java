@@ -0,0 +1,6 @@
+package com.smartcampus.booking.repository;
+
+import java.time.LocalDateTime;
+
+public record ReservationSlot(Long id, Long resourceId, LocalDateTime startTime, LocalDateTime endTime) {
+}
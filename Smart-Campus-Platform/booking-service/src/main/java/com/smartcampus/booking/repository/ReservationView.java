@@ -0,0 +1,19 @@
+package com.smartcampus.booking.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Same JSON shape as a serialized Reservation, with the resource cut down to id and name.
+ */
+public record ReservationView(Long id, ResourceRef resource, String userId, LocalDateTime startTime,
+                              LocalDateTime endTime, String tenantId) {
+
+    // Used by the JPQL constructor expressions
+    public ReservationView(Long id, Long resourceId, String resourceName, String userId, LocalDateTime startTime,
+                           LocalDateTime endTime, String tenantId) {
+        this(id, new ResourceRef(resourceId, resourceName), userId, startTime, endTime, tenantId);
+    }
+
+    public record ResourceRef(Long id, String name) {
+    }
+}
@@ -0,0 +1,179 @@
+package com.smartcampus.booking.service;
+
+import com.smartcampus.booking.model.Resource;
+import com.smartcampus.booking.repository.ReservationSlot;
+import com.smartcampus.booking.repository.ResourceRepository;
+import com.smartcampus.common.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Free/busy of resources over a window, from one range query on the period column (served by the
+ * reservations_no_overlap GiST index) and a sweep over each resource's sorted intervals.
+ * "Free" uses the same inclusive overlap rule as reserve: a free slot can be booked as returned,
+ * except that gaps without a granularity exclude their ends where they touch a reservation.
+ */
+@Service
+public class AvailabilityService {
+
+    private static final String BUSY_SQL = "SELECT id, resource_id, start_time, end_time FROM reservations "
+            + "WHERE resource_id IN (:resourceIds) AND tenant_id = :tenantId "
+            + "AND period && tsrange(CAST(:from AS timestamp), CAST(:to AS timestamp), '[]') "
+            + "ORDER BY resource_id, start_time";
+
+    private final ResourceRepository resourceRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final Duration maxWindow;
+    private final int maxSlots;
+
+    public AvailabilityService(ResourceRepository resourceRepository,
+                               NamedParameterJdbcTemplate jdbcTemplate,
+                               @Value("${app.booking.availability.max-window:31d}") Duration maxWindow,
+                               @Value("${app.booking.availability.max-slots:1000}") int maxSlots) {
+        this.resourceRepository = resourceRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxWindow = maxWindow;
+        this.maxSlots = maxSlots;
+    }
+
+    public ResourceAvailability forResource(Long resourceId, LocalDateTime from, LocalDateTime to, Integer granularityMinutes) {
+        Duration granularity = validate(from, to, granularityMinutes);
+        Resource resource = resourceRepository.findById(resourceId)
+                .orElseThrow(() -> new IllegalArgumentException("Resource not found"));
+        if (!resource.getTenantId().equals(TenantContext.getTenantId())) {
+            throw new IllegalArgumentException("Cross-tenant access denied");
+        }
+        return compute(List.of(resource), from, to, granularity).get(0);
+    }
+
+    /**
+     * All of the tenant's resources, or those in resourceIds; with onlyAvailable just the ones free for the whole window.
+     */
+    public List<ResourceAvailability> forResources(Set<Long> resourceIds, LocalDateTime from, LocalDateTime to,
+                                                   Integer granularityMinutes, boolean onlyAvailable) {
+        Duration granularity = validate(from, to, granularityMinutes);
+        List<Resource> resources = resourceRepository.findByTenantId(TenantContext.getTenantId()).stream()
+                .filter(resource -> resourceIds == null || resourceIds.contains(resource.getId()))
+                .toList();
+        if (resources.isEmpty()) {
+            return List.of();
+        }
+        return compute(resources, from, to, granularity).stream()
+                .filter(availability -> !onlyAvailable || availability.available())
+                .toList();
+    }
+
+    private Duration validate(LocalDateTime from, LocalDateTime to, Integer granularityMinutes) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        Duration window = Duration.between(from, to);
+        if (window.compareTo(maxWindow) > 0) {
+            throw new IllegalArgumentException("Window must not exceed " + maxWindow.toDays() + " days");
+        }
+        if (granularityMinutes == null) {
+            return null;
+        }
+        if (granularityMinutes <= 0) {
+            throw new IllegalArgumentException("granularity must be a positive number of minutes");
+        }
+        Duration granularity = Duration.ofMinutes(granularityMinutes);
+        if (window.dividedBy(granularity) > maxSlots) {
+            throw new IllegalArgumentException("At most " + maxSlots + " slots per resource; use a coarser granularity");
+        }
+        return granularity;
+    }
+
+    private List<ResourceAvailability> compute(List<Resource> resources, LocalDateTime from, LocalDateTime to, Duration granularity) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("resourceIds", resources.stream().map(Resource::getId).toList())
+                .addValue("tenantId", TenantContext.getTenantId())
+                .addValue("from", Timestamp.valueOf(from))
+                .addValue("to", Timestamp.valueOf(to));
+        Map<Long, List<ReservationSlot>> byResource = jdbcTemplate.query(BUSY_SQL, params, (rs, row) -> new ReservationSlot(
+                        rs.getLong("id"),
+                        rs.getLong("resource_id"),
+                        rs.getTimestamp("start_time").toLocalDateTime(),
+                        rs.getTimestamp("end_time").toLocalDateTime()))
+                .stream()
+                .collect(Collectors.groupingBy(ReservationSlot::resourceId));
+
+        List<ResourceAvailability> result = new ArrayList<>(resources.size());
+        for (Resource resource : resources) {
+            List<Interval> busy = merge(byResource.getOrDefault(resource.getId(), List.of()));
+            List<Interval> free = granularity != null ? freeSlots(busy, from, to, granularity) : gaps(busy, from, to);
+            result.add(new ResourceAvailability(resource.getId(), resource.getName(), busy.isEmpty(), busy, free));
+        }
+        return result;
+    }
+
+    // Slots arrive sorted by start; touching or overlapping ones (only possible in legacy rows) are merged
+    static List<Interval> merge(List<ReservationSlot> slots) {
+        List<Interval> busy = new ArrayList<>();
+        for (ReservationSlot slot : slots) {
+            int last = busy.size() - 1;
+            if (last >= 0 && !slot.startTime().isAfter(busy.get(last).end())) {
+                if (slot.endTime().isAfter(busy.get(last).end())) {
+                    busy.set(last, new Interval(busy.get(last).start(), slot.endTime()));
+                }
+            } else {
+                busy.add(new Interval(slot.startTime(), slot.endTime()));
+            }
+        }
+        return busy;
+    }
+
+    static List<Interval> gaps(List<Interval> busy, LocalDateTime from, LocalDateTime to) {
+        List<Interval> free = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (Interval interval : busy) {
+            if (interval.start().isAfter(cursor)) {
+                free.add(new Interval(cursor, interval.start()));
+            }
+            if (interval.end().isAfter(cursor)) {
+                cursor = interval.end();
+            }
+        }
+        if (cursor.isBefore(to)) {
+            free.add(new Interval(cursor, to));
+        }
+        return free;
+    }
+
+    // Consecutive slots of the granularity from "from"; a slot is free if reserve would accept it
+    static List<Interval> freeSlots(List<Interval> busy, LocalDateTime from, LocalDateTime to, Duration granularity) {
+        List<Interval> free = new ArrayList<>();
+        int next = 0;
+        for (LocalDateTime start = from; !start.plus(granularity).isAfter(to); start = start.plus(granularity)) {
+            LocalDateTime end = start.plus(granularity);
+            while (next < busy.size() && busy.get(next).end().isBefore(start)) {
+                next++;
+            }
+            if (next == busy.size() || busy.get(next).start().isAfter(end)) {
+                free.add(new Interval(start, end));
+            }
+        }
+        return free;
+    }
+
+    public record Interval(LocalDateTime start, LocalDateTime end) {
+    }
+
+    /**
+     * @param available no reservation overlaps the window
+     */
+    public record ResourceAvailability(Long resourceId, String name, boolean available,
+                                       List<Interval> busy, List<Interval> free) {
+    }
+}
@@ -1,16 +1,22 @@
 package com.smartcampus.booking.service;
 
+import com.smartcampus.booking.config.ReservationConstraints;
 import com.smartcampus.booking.messaging.ReservationEventPublisher;
 import com.smartcampus.booking.model.Reservation;
 import com.smartcampus.booking.model.Resource;
 import com.smartcampus.booking.repository.ReservationRepository;
+import com.smartcampus.booking.repository.ReservationView;
 import com.smartcampus.booking.repository.ResourceRepository;
-import com.smartcampus.booking.tenant.TenantContext;
-import jakarta.transaction.Transactional;
+import com.smartcampus.common.tenant.TenantContext;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 
@@ -18,9 +24,15 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class BookingService {
 
+    // Bounds of an open listing window, inside what Postgres timestamps hold
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59);
+
     private final ResourceRepository resourceRepository;
     private final ReservationRepository reservationRepository;
     private final ReservationEventPublisher eventPublisher;
+    private final ReservationIndex reservationIndex;
+    private final TransactionTemplate transactionTemplate;
 
     public Resource createResource(Resource resource) {
         resource.setTenantId(TenantContext.getTenantId());
@@ -31,71 +43,141 @@ public class BookingService {
         return resourceRepository.findByTenantId(TenantContext.getTenantId());
     }
 
-    public List<Reservation> listReservations() {
-        return reservationRepository.findByTenantId(TenantContext.getTenantId());
+    /**
+     * One page of the tenant's reservations (only userId's if not null) overlapping the window from..to,
+     * ordered by start time, after the cursor. from and to may be null for an open window.
+     */
+    public ReservationPage listReservations(String userId, Long resourceId, LocalDateTime from, LocalDateTime to,
+                                            String cursor, int limit) {
+        LocalDateTime afterStart = EARLIEST;
+        long afterId = 0;
+        if (cursor != null) {
+            Cursor position = decodeCursor(cursor);
+            afterStart = position.startTime();
+            afterId = position.id();
+        }
+        LocalDateTime after = from != null ? from : EARLIEST;
+        LocalDateTime before = to != null ? to : LATEST;
+        String tenantId = TenantContext.getTenantId();
+        List<ReservationView> reservations = userId != null
+                ? reservationRepository.findUserViews(tenantId, userId, resourceId, after, before, afterStart, afterId, Limit.of(limit + 1))
+                : reservationRepository.findViews(tenantId, resourceId, after, before, afterStart, afterId, Limit.of(limit + 1));
+        if (reservations.size() <= limit) {
+            return new ReservationPage(reservations, null);
+        }
+        List<ReservationView> page = reservations.subList(0, limit);
+        return new ReservationPage(page, encodeCursor(page.get(limit - 1)));
     }
 
-    @Transactional
+    /**
+     * Checked against ReservationIndex and persisted while holding the resource's writer lock;
+     * the database is only written once the slot is known to be free. A booking made meanwhile
+     * through another instance is caught by the reservations_no_overlap constraint.
+     */
     public Reservation reserve(Long resourceId, String userId, LocalDateTime start, LocalDateTime end) {
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("startTime must be before endTime");
+        }
+        if (end.isBefore(reservationIndex.horizon())) {
+            throw new IllegalArgumentException("Reservation ends too far in the past");
+        }
         Resource resource = resourceRepository.findById(resourceId)
                 .orElseThrow(() -> new IllegalArgumentException("Resource not found"));
         if (!resource.getTenantId().equals(TenantContext.getTenantId())) {
             throw new IllegalArgumentException("Cross-tenant access denied");
         }
-        List<Reservation> conflicts = reservationRepository.findConflicts(resource, TenantContext.getTenantId(), start, end);
-        if (!conflicts.isEmpty()) {
-            throw new IllegalStateException("Resource already reserved in that time range");
-        }
-        Reservation reservation = Reservation.builder()
-                .resource(resource)
-                .startTime(start)
-                .endTime(end)
-                .userId(userId)
-                .tenantId(TenantContext.getTenantId())
-                .build();
-        Reservation saved = reservationRepository.save(reservation);
-        eventPublisher.publish("reservation.created", Map.of(
-                "reservationId", saved.getId(),
-                "userId", userId,
-                "resourceName", resource.getName(),
-                "tenantId", saved.getTenantId()
-        ));
+        Reservation saved = reservationIndex.write(resourceId, slots -> {
+            if (slots.conflicts(start, end)) {
+                throw new IllegalStateException("Resource already reserved in that time range");
+            }
+            Reservation reservation;
+            try {
+                reservation = transactionTemplate.execute(status -> reservationRepository.save(Reservation.builder()
+                        .resource(resource)
+                        .startTime(start)
+                        .endTime(end)
+                        .userId(userId)
+                        .tenantId(TenantContext.getTenantId())
+                        .build()));
+            } catch (DataIntegrityViolationException e) {
+                if (ReservationConstraints.isOverlap(e)) {
+                    // The index missed a reservation made elsewhere; catch up before reporting it
+                    slots.confirm(start, end);
+                    throw new IllegalStateException("Resource already reserved in that time range");
+                }
+                throw e;
+            }
+            slots.add(reservation.getId(), start, end);
+            return reservation;
+        });
+        eventPublisher.publish("reservation.created", event(saved));
         return saved;
     }
 
-    @Transactional
     public void deleteResource(Long resourceId) {
         Resource resource = resourceRepository.findById(resourceId)
                 .orElseThrow(() -> new IllegalArgumentException("Resource not found"));
         if (!resource.getTenantId().equals(TenantContext.getTenantId())) {
             throw new IllegalArgumentException("Cross-tenant access denied");
         }
-        // Delete all reservations for this resource first
-        List<Reservation> reservations = reservationRepository.findByResourceAndTenantId(resource, TenantContext.getTenantId());
-        reservationRepository.deleteAll(reservations);
-        resourceRepository.delete(resource);
+        reservationIndex.write(resourceId, slots -> transactionTemplate.execute(status -> {
+            // Delete all reservations for this resource first
+            List<Reservation> reservations = reservationRepository.findByResourceAndTenantId(resource, TenantContext.getTenantId());
+            reservationRepository.deleteAll(reservations);
+            resourceRepository.delete(resource);
+            return null;
+        }));
+        reservationIndex.drop(resourceId);
     }
 
-    @Transactional
     public void cancelReservation(Long reservationId) {
         Reservation reservation = reservationRepository.findById(reservationId)
                 .orElseThrow(() -> new IllegalArgumentException("Reservation not found"));
         if (!reservation.getTenantId().equals(TenantContext.getTenantId())) {
             throw new IllegalArgumentException("Cross-tenant access denied");
         }
-        String userId = reservation.getUserId();
-        String resourceName = reservation.getResource().getName();
-        reservationRepository.delete(reservation);
-        eventPublisher.publish("reservation.cancelled", Map.of(
-                "reservationId", reservationId,
-                "userId", userId,
-                "resourceName", resourceName,
-                "tenantId", reservation.getTenantId()
-        ));
+        reservationIndex.write(reservation.getResource().getId(), slots -> {
+            transactionTemplate.executeWithoutResult(status -> reservationRepository.delete(reservation));
+            slots.remove(reservationId, reservation.getStartTime());
+            return null;
+        });
+        eventPublisher.publish("reservation.cancelled", event(reservation));
+    }
+
+    private static String encodeCursor(ReservationView last) {
+        String position = last.startTime() + "|" + last.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
     }
 
-    public List<Reservation> listUserReservations(String userId) {
-        return reservationRepository.findByUserIdAndTenantId(userId, TenantContext.getTenantId());
+    private static Cursor decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+            return new Cursor(LocalDateTime.parse(position[0]), Long.parseLong(position[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private record Cursor(LocalDateTime startTime, long id) {
+    }
+
+    /**
+     * @param nextCursor pass as cursor for the following page; null on the last page
+     */
+    public record ReservationPage(List<ReservationView> reservations, String nextCursor) {
+    }
+
+    // resourceId and the times let other instances update their ReservationIndex
+    static Map<String, Object> event(Reservation reservation) {
+        return Map.of(
+                "reservationId", reservation.getId(),
+                "userId", reservation.getUserId(),
+                "resourceId", reservation.getResource().getId(),
+                "resourceName", reservation.getResource().getName(),
+                "startTime", reservation.getStartTime().toString(),
+                "endTime", reservation.getEndTime().toString(),
+                "tenantId", reservation.getTenantId()
+        );
     }
 }
 
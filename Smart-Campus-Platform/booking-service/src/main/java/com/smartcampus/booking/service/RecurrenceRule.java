@@ -0,0 +1,152 @@
+package com.smartcampus.booking.service;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * The subset of RFC 5545 RRULE used for bookings: FREQ=DAILY|WEEKLY|MONTHLY, INTERVAL, BYDAY (weekly only)
+ * and COUNT or UNTIL, e.g. "FREQ=WEEKLY;BYDAY=TU;COUNT=16". The first start counts as an occurrence
+ * if it matches; weeks start on Monday. UNTIL is compared as local time, like the reservation times.
+ */
+public record RecurrenceRule(Frequency frequency, int interval, TreeSet<DayOfWeek> byDay, Integer count, LocalDateTime until) {
+
+    public enum Frequency { DAILY, WEEKLY, MONTHLY }
+
+    private static final Map<String, DayOfWeek> DAYS = Map.of(
+            "MO", DayOfWeek.MONDAY, "TU", DayOfWeek.TUESDAY, "WE", DayOfWeek.WEDNESDAY, "TH", DayOfWeek.THURSDAY,
+            "FR", DayOfWeek.FRIDAY, "SA", DayOfWeek.SATURDAY, "SU", DayOfWeek.SUNDAY);
+    // Keeps the date arithmetic of a few hundred occurrences far from LocalDateTime's range
+    private static final int MAX_INTERVAL = 1000;
+    private static final DateTimeFormatter UNTIL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    /**
+     * Throws IllegalArgumentException for anything outside the supported subset.
+     */
+    public static RecurrenceRule parse(String rule) {
+        String value = rule.trim().toUpperCase(Locale.ROOT);
+        if (value.startsWith("RRULE:")) {
+            value = value.substring(6);
+        }
+        Frequency frequency = null;
+        int interval = 1;
+        TreeSet<DayOfWeek> byDay = new TreeSet<>();
+        Integer count = null;
+        LocalDateTime until = null;
+        try {
+            for (String part : value.split(";")) {
+                String[] pair = part.split("=", 2);
+                if (pair.length != 2) {
+                    throw new IllegalArgumentException("Invalid RRULE part " + part);
+                }
+                switch (pair[0]) {
+                    case "FREQ" -> frequency = frequency(pair[1]);
+                    case "INTERVAL" -> interval = Integer.parseInt(pair[1]);
+                    case "COUNT" -> count = Integer.parseInt(pair[1]);
+                    case "UNTIL" -> until = parseUntil(pair[1]);
+                    case "BYDAY" -> {
+                        for (String day : pair[1].split(",")) {
+                            DayOfWeek dayOfWeek = DAYS.get(day);
+                            if (dayOfWeek == null) {
+                                throw new IllegalArgumentException("Unsupported BYDAY value " + day);
+                            }
+                            byDay.add(dayOfWeek);
+                        }
+                    }
+                    default -> throw new IllegalArgumentException("Unsupported RRULE part " + pair[0]);
+                }
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid RRULE: " + rule);
+        }
+        if (frequency == null) {
+            throw new IllegalArgumentException("RRULE needs FREQ");
+        }
+        if ((count == null) == (until == null)) {
+            throw new IllegalArgumentException("RRULE needs exactly one of COUNT and UNTIL");
+        }
+        if (interval < 1 || (count != null && count < 1)) {
+            throw new IllegalArgumentException("INTERVAL and COUNT must be positive");
+        }
+        if (interval > MAX_INTERVAL) {
+            throw new IllegalArgumentException("INTERVAL must be at most " + MAX_INTERVAL);
+        }
+        if (!byDay.isEmpty() && frequency != Frequency.WEEKLY) {
+            throw new IllegalArgumentException("BYDAY is only supported with FREQ=WEEKLY");
+        }
+        return new RecurrenceRule(frequency, interval, byDay, count, until);
+    }
+
+    /**
+     * Occurrence starts in order. Throws IllegalArgumentException if there are more than max.
+     */
+    public List<LocalDateTime> expand(LocalDateTime first, int max) {
+        List<LocalDateTime> starts = new ArrayList<>();
+        for (int period = 0; ; period++) {
+            List<LocalDateTime> candidates;
+            try {
+                candidates = startsInPeriod(first, period);
+            } catch (DateTimeException e) {
+                // Only reachable from a first start near the end of the LocalDateTime range
+                throw new IllegalArgumentException("Recurrence runs past the supported date range");
+            }
+            for (LocalDateTime start : candidates) {
+                if (start.isBefore(first)) {
+                    continue;
+                }
+                if ((until != null && start.isAfter(until)) || (count != null && starts.size() == count)) {
+                    return starts;
+                }
+                if (starts.size() == max) {
+                    throw new IllegalArgumentException("Recurrence has more than " + max + " occurrences");
+                }
+                starts.add(start);
+            }
+        }
+    }
+
+    private List<LocalDateTime> startsInPeriod(LocalDateTime first, int period) {
+        long step = (long) period * interval;
+        return switch (frequency) {
+            case DAILY -> List.of(first.plusDays(step));
+            case MONTHLY -> {
+                // Months without the day (e.g. the 31st) are skipped, as in RFC 5545
+                LocalDateTime start = first.plusMonths(step);
+                yield start.getDayOfMonth() == first.getDayOfMonth() ? List.of(start) : List.of();
+            }
+            case WEEKLY -> {
+                if (byDay.isEmpty()) {
+                    yield List.of(first.plusWeeks(step));
+                }
+                LocalDate monday = first.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).plusWeeks(step);
+                yield byDay.stream()
+                        .map(day -> monday.plusDays(day.getValue() - 1L).atTime(first.toLocalTime()))
+                        .toList();
+            }
+        };
+    }
+
+    private static Frequency frequency(String value) {
+        try {
+            return Frequency.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported FREQ " + value);
+        }
+    }
+
+    private static LocalDateTime parseUntil(String value) {
+        String local = value.endsWith("Z") ? value.substring(0, value.length() - 1) : value;
+        return local.length() == 8
+                ? LocalDate.parse(local, DateTimeFormatter.BASIC_ISO_DATE).atTime(23, 59, 59)
+                : LocalDateTime.parse(local, UNTIL_DATE_TIME);
+    }
+}
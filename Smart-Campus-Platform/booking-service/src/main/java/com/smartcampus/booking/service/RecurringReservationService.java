@@ -0,0 +1,159 @@
+package com.smartcampus.booking.service;
+
+import com.smartcampus.booking.config.ReservationConstraints;
+import com.smartcampus.booking.messaging.ReservationEventPublisher;
+import com.smartcampus.booking.model.Reservation;
+import com.smartcampus.booking.model.Resource;
+import com.smartcampus.booking.repository.ResourceRepository;
+import com.smartcampus.common.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Books every occurrence of a RecurrenceRule, each lasting as long as the first one. All occurrences
+ * are checked against ReservationIndex under one writer lock and inserted as one JDBC batch in one
+ * transaction. If any conflict, nothing is booked unless skipConflicts, in which case the free ones are.
+ */
+@Service
+public class RecurringReservationService {
+
+    private static final String INSERT_SQL = "INSERT INTO reservations (resource_id, user_id, start_time, end_time, tenant_id) "
+            + "VALUES (?, ?, ?, ?, ?)";
+
+    private final ResourceRepository resourceRepository;
+    private final ReservationIndex reservationIndex;
+    private final ReservationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxOccurrences;
+
+    public RecurringReservationService(ResourceRepository resourceRepository,
+                                       ReservationIndex reservationIndex,
+                                       ReservationEventPublisher eventPublisher,
+                                       JdbcTemplate jdbcTemplate,
+                                       TransactionTemplate transactionTemplate,
+                                       @Value("${app.booking.recurring.max-occurrences:200}") int maxOccurrences) {
+        this.resourceRepository = resourceRepository;
+        this.reservationIndex = reservationIndex;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.maxOccurrences = maxOccurrences;
+    }
+
+    public RecurringResult reserve(Long resourceId, String userId, LocalDateTime start, LocalDateTime end,
+                                   String rule, boolean skipConflicts) {
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("startTime must be before endTime");
+        }
+        if (end.isBefore(reservationIndex.horizon())) {
+            throw new IllegalArgumentException("Reservation ends too far in the past");
+        }
+        Duration length = Duration.between(start, end);
+        List<LocalDateTime> starts = RecurrenceRule.parse(rule).expand(start, maxOccurrences);
+        if (starts.isEmpty()) {
+            throw new IllegalArgumentException("Recurrence has no occurrences");
+        }
+        for (int i = 1; i < starts.size(); i++) {
+            if (!starts.get(i).isAfter(starts.get(i - 1).plus(length))) {
+                throw new IllegalArgumentException("Occurrences overlap each other");
+            }
+        }
+        Resource resource = resourceRepository.findById(resourceId)
+                .orElseThrow(() -> new IllegalArgumentException("Resource not found"));
+        String tenantId = TenantContext.getTenantId();
+        if (!resource.getTenantId().equals(tenantId)) {
+            throw new IllegalArgumentException("Cross-tenant access denied");
+        }
+
+        RecurringResult result = reservationIndex.write(resourceId, slots -> {
+            List<Reservation> free = new ArrayList<>();
+            List<Occurrence> conflicts = new ArrayList<>();
+            for (LocalDateTime occurrence : starts) {
+                LocalDateTime occurrenceEnd = occurrence.plus(length);
+                // Only hits reach Postgres, each for the rows overlapping that occurrence
+                if (slots.conflicts(occurrence, occurrenceEnd)) {
+                    conflicts.add(new Occurrence(occurrence, occurrenceEnd));
+                } else {
+                    free.add(Reservation.builder()
+                            .resource(resource)
+                            .userId(userId)
+                            .startTime(occurrence)
+                            .endTime(occurrenceEnd)
+                            .tenantId(tenantId)
+                            .build());
+                }
+            }
+            if (free.isEmpty() || (!conflicts.isEmpty() && !skipConflicts)) {
+                return new RecurringResult(List.of(), conflicts);
+            }
+            insert(free, slots);
+            free.forEach(reservation -> slots.add(reservation.getId(), reservation.getStartTime(), reservation.getEndTime()));
+            return new RecurringResult(free, conflicts);
+        });
+        result.created().forEach(reservation -> eventPublisher.publish("reservation.created", BookingService.event(reservation)));
+        return result;
+    }
+
+    private void insert(List<Reservation> reservations, ReservationIndex.ResourceSlots slots) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Reservation reservation = reservations.get(i);
+                            ps.setLong(1, reservation.getResource().getId());
+                            ps.setString(2, reservation.getUserId());
+                            ps.setTimestamp(3, Timestamp.valueOf(reservation.getStartTime()));
+                            ps.setTimestamp(4, Timestamp.valueOf(reservation.getEndTime()));
+                            ps.setString(5, reservation.getTenantId());
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return reservations.size();
+                        }
+                    },
+                    keys));
+        } catch (DataIntegrityViolationException e) {
+            // Booked meanwhile through another instance; the whole batch was rolled back
+            if (ReservationConstraints.isOverlap(e)) {
+                // Rare; one read over the span of the batch finds whatever the index missed
+                slots.confirm(reservations.get(0).getStartTime(), reservations.get(reservations.size() - 1).getEndTime());
+                throw new IllegalStateException("Resource already reserved in that time range");
+            }
+            throw e;
+        }
+        List<Map<String, Object>> ids = keys.getKeyList();
+        for (int i = 0; i < reservations.size(); i++) {
+            reservations.get(i).setId(((Number) ids.get(i).get("id")).longValue());
+        }
+    }
+
+    /**
+     * @param created   empty if nothing was booked
+     * @param conflicts occurrences overlapping existing reservations
+     */
+    public record RecurringResult(List<Reservation> created, List<Occurrence> conflicts) {
+    }
+
+    public record Occurrence(LocalDateTime startTime, LocalDateTime endTime) {
+    }
+}
@@ -0,0 +1,258 @@
+package com.smartcampus.booking.service;
+
+import com.smartcampus.booking.repository.ReservationRepository;
+import com.smartcampus.booking.repository.ReservationSlot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reservations per resource as a sorted map of non-overlapping intervals, so a conflict check is one
+ * floor lookup instead of a locking query; a hit is confirmed by reading just the overlapping rows
+ * before it is reported.
+ * Each resource has a single writer at a time: callers check and persist inside write(), and the lock
+ * is held until the booking is committed.
+ * Resources are loaded from Postgres at startup (and on first use if a request beats the warm-up).
+ * Only reservations ending after now - app.booking.index.history are kept; older ones are pruned as
+ * the resource is written. Other booking-service instances' changes arrive through reservation.events.
+ */
+@Slf4j
+@Component
+public class ReservationIndex {
+
+    // Served by the GiST index of the reservations_no_overlap constraint
+    private static final String OVERLAPPING_SQL = "SELECT id, resource_id, start_time, end_time FROM reservations "
+            + "WHERE resource_id = :resourceId "
+            + "AND period && tsrange(CAST(:from AS timestamp), CAST(:to AS timestamp), '[]')";
+
+    private final ReservationRepository reservationRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final Duration history;
+    private final ConcurrentHashMap<Long, ResourceSlots> resources = new ConcurrentHashMap<>();
+
+    public ReservationIndex(ReservationRepository reservationRepository,
+                            NamedParameterJdbcTemplate jdbcTemplate,
+                            @Value("${app.booking.index.history:30d}") Duration history) {
+        this.reservationRepository = reservationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.history = history;
+    }
+
+    /**
+     * Reservations ending before this are not indexed and cannot be created.
+     */
+    public LocalDateTime horizon() {
+        return LocalDateTime.now().minus(history);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        LocalDateTime horizon = horizon();
+        Map<Long, List<ReservationSlot>> byResource = reservationRepository.findSlotsEndingAfter(horizon).stream()
+                .collect(Collectors.groupingBy(ReservationSlot::resourceId));
+        // Resources loaded on demand meanwhile may already have newer writes; leave them alone
+        byResource.forEach((resourceId, slots) -> write(resourceId, resource -> null, slots));
+        log.info("Reservation index warmed with {} resources", byResource.size());
+    }
+
+    /**
+     * Runs the action as the only writer of the resource's intervals.
+     */
+    public <T> T write(Long resourceId, Function<ResourceSlots, T> action) {
+        return write(resourceId, action, null);
+    }
+
+    /**
+     * Applies a change made by another instance, if the resource is indexed here.
+     */
+    public void applyRemote(Long resourceId, Function<ResourceSlots, ?> action) {
+        ResourceSlots slots = resources.get(resourceId);
+        if (slots == null) {
+            return;
+        }
+        slots.lock.lock();
+        try {
+            if (slots.loaded && !slots.dropped) {
+                action.apply(slots);
+            }
+        } finally {
+            slots.lock.unlock();
+        }
+    }
+
+    public void drop(Long resourceId) {
+        ResourceSlots slots = resources.remove(resourceId);
+        if (slots != null) {
+            slots.lock.lock();
+            slots.dropped = true;
+            slots.lock.unlock();
+        }
+    }
+
+    private <T> T write(Long resourceId, Function<ResourceSlots, T> action, List<ReservationSlot> preloaded) {
+        while (true) {
+            ResourceSlots slots = resources.computeIfAbsent(resourceId, id -> new ResourceSlots(id));
+            slots.lock.lock();
+            try {
+                if (slots.dropped) {
+                    continue;
+                }
+                if (!slots.loaded) {
+                    LocalDateTime horizon = horizon();
+                    (preloaded != null ? preloaded : reservationRepository.findSlots(resourceId, horizon))
+                            .forEach(slot -> slots.add(slot.id(), slot.startTime(), slot.endTime()));
+                    slots.loaded = true;
+                }
+                return action.apply(slots);
+            } finally {
+                slots.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * One resource's intervals as disjoint blocks keyed by start. Bounds are inclusive, as in the original
+     * conflict query, so back-to-back reservations sharing an end/start instant conflict. Rows that overlap
+     * (written before the exclusion constraint existed) are merged into one block that
+     * remembers its members, so the floor lookup stays correct.
+     */
+    public final class ResourceSlots {
+
+        private final Long resourceId;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final TreeMap<LocalDateTime, Block> byStart = new TreeMap<>();
+        private boolean loaded;
+        private boolean dropped;
+
+        private ResourceSlots(Long resourceId) {
+            this.resourceId = resourceId;
+        }
+
+        public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            // Blocks don't overlap, so the last one starting by end also ends last
+            Map.Entry<LocalDateTime, Block> before = byStart.floorEntry(end);
+            return before != null && !before.getValue().end().isBefore(start);
+        }
+
+        /**
+         * Like overlaps(), but a hit is confirmed against Postgres first, since a missed
+         * reservation.cancelled event would otherwise keep the slot taken for good.
+         */
+        public boolean conflicts(LocalDateTime start, LocalDateTime end) {
+            if (!overlaps(start, end)) {
+                return false;
+            }
+            confirm(start, end);
+            return overlaps(start, end);
+        }
+
+        /**
+         * Makes the reservations overlapping [from, to] match Postgres, with one query for just those
+         * rows: members it no longer has are removed and rows missing here are added.
+         */
+        public void confirm(LocalDateTime from, LocalDateTime to) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("resourceId", resourceId)
+                    .addValue("from", Timestamp.valueOf(from))
+                    .addValue("to", Timestamp.valueOf(to));
+            List<ReservationSlot> rows = jdbcTemplate.query(OVERLAPPING_SQL, params, (rs, row) -> new ReservationSlot(
+                    rs.getLong("id"),
+                    rs.getLong("resource_id"),
+                    rs.getTimestamp("start_time").toLocalDateTime(),
+                    rs.getTimestamp("end_time").toLocalDateTime()));
+            Set<Long> ids = rows.stream().map(ReservationSlot::id).collect(Collectors.toSet());
+            List<Slot> stale = new ArrayList<>();
+            for (Map.Entry<LocalDateTime, Block> entry = byStart.floorEntry(to);
+                 entry != null && !entry.getValue().end().isBefore(from);
+                 entry = byStart.lowerEntry(entry.getKey())) {
+                entry.getValue().members().stream()
+                        .filter(member -> !member.end().isBefore(from) && !member.start().isAfter(to))
+                        .filter(member -> !ids.contains(member.id()))
+                        .forEach(stale::add);
+            }
+            stale.forEach(member -> remove(member.id(), member.start()));
+            rows.forEach(slot -> add(slot.id(), slot.startTime(), slot.endTime()));
+            if (!stale.isEmpty()) {
+                log.debug("Dropped {} stale reservations of resource {}", stale.size(), resourceId);
+            }
+        }
+
+        public void add(Long id, LocalDateTime start, LocalDateTime end) {
+            prune();
+            // Overlapping blocks are the consecutive run ending at the last one starting by end
+            List<Block> overlapping = new ArrayList<>();
+            for (Map.Entry<LocalDateTime, Block> entry = byStart.floorEntry(end);
+                 entry != null && !entry.getValue().end().isBefore(start);
+                 entry = byStart.lowerEntry(entry.getKey())) {
+                if (entry.getValue().contains(id)) {
+                    return;
+                }
+                overlapping.add(entry.getValue());
+            }
+            LocalDateTime mergedStart = start;
+            LocalDateTime mergedEnd = end;
+            List<Slot> members = new ArrayList<>();
+            members.add(new Slot(id, start, end));
+            for (Block block : overlapping) {
+                byStart.remove(block.start());
+                members.addAll(block.members());
+                if (block.start().isBefore(mergedStart)) {
+                    mergedStart = block.start();
+                }
+                if (block.end().isAfter(mergedEnd)) {
+                    mergedEnd = block.end();
+                }
+            }
+            byStart.put(mergedStart, new Block(mergedStart, mergedEnd, members));
+        }
+
+        public void remove(Long id, LocalDateTime start) {
+            Map.Entry<LocalDateTime, Block> entry = byStart.floorEntry(start);
+            if (entry == null || !entry.getValue().contains(id)) {
+                return;
+            }
+            byStart.remove(entry.getKey());
+            entry.getValue().members().stream()
+                    .filter(member -> !member.id().equals(id))
+                    .forEach(member -> add(member.id(), member.start(), member.end()));
+        }
+
+        private void prune() {
+            LocalDateTime horizon = horizon();
+            Iterator<Map.Entry<LocalDateTime, Block>> it = byStart.headMap(horizon).entrySet().iterator();
+            while (it.hasNext()) {
+                if (it.next().getValue().end().isBefore(horizon)) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    private record Slot(Long id, LocalDateTime start, LocalDateTime end) {
+    }
+
+    private record Block(LocalDateTime start, LocalDateTime end, List<Slot> members) {
+
+        boolean contains(Long id) {
+            return members.stream().anyMatch(member -> member.id().equals(id));
+        }
+    }
+}
@@ -2,15 +2,19 @@ package com.smartcampus.booking.web;
 
 import com.smartcampus.booking.model.Reservation;
 import com.smartcampus.booking.service.BookingService;
+import com.smartcampus.booking.service.RecurringReservationService;
+import com.smartcampus.common.security.AuthenticatedPrincipal;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -18,14 +22,19 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class ReservationController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final BookingService bookingService;
+    private final RecurringReservationService recurringReservationService;
 
     @PostMapping
-    public ResponseEntity<?> create(@RequestBody @Valid ReserveRequest request, Authentication auth) {
+    public ResponseEntity<?> create(@RequestBody @Valid ReserveRequest request,
+                                    @AuthenticationPrincipal AuthenticatedPrincipal principal) {
         try {
             Reservation saved = bookingService.reserve(
                     request.resourceId(),
-                    auth.getName(),
+                    principal.username(),
                     request.startTime(),
                     request.endTime()
             );
@@ -37,14 +46,52 @@ public class ReservationController {
         }
     }
 
+    // 409 lists the conflicting occurrences; with skipConflicts the free ones are booked and the rest reported
+    @PostMapping("/recurring")
+    @PreAuthorize("hasRole('FACULTY')")
+    public ResponseEntity<?> createRecurring(@RequestBody @Valid RecurringRequest request,
+                                             @AuthenticationPrincipal AuthenticatedPrincipal principal) {
+        try {
+            RecurringReservationService.RecurringResult result = recurringReservationService.reserve(
+                    request.resourceId(),
+                    principal.username(),
+                    request.startTime(),
+                    request.endTime(),
+                    request.rrule(),
+                    request.skipConflicts()
+            );
+            if (result.created().isEmpty()) {
+                return ResponseEntity.status(409).body(Map.of(
+                        "error", "Resource already reserved for some occurrences",
+                        "conflicts", result.conflicts()));
+            }
+            return ResponseEntity.ok(result);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Still a plain array; X-Next-Cursor carries the cursor for the next page when there is one
     @GetMapping
-    public ResponseEntity<List<Reservation>> list() {
-        return ResponseEntity.ok(bookingService.listReservations());
+    public ResponseEntity<?> list(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                  @RequestParam(required = false) Long resourceId,
+                                  @RequestParam(required = false) String userId,
+                                  @RequestParam(required = false) String cursor,
+                                  @RequestParam(defaultValue = "100") int limit) {
+        return page(userId, resourceId, from, to, cursor, limit);
     }
 
     @GetMapping("/my")
-    public ResponseEntity<List<Reservation>> myReservations(Authentication auth) {
-        return ResponseEntity.ok(bookingService.listUserReservations(auth.getName()));
+    public ResponseEntity<?> myReservations(@AuthenticationPrincipal AuthenticatedPrincipal principal,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                            @RequestParam(required = false) Long resourceId,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "100") int limit) {
+        return page(principal.username(), resourceId, from, to, cursor, limit);
     }
 
     @DeleteMapping("/{reservationId}")
@@ -57,8 +104,31 @@ public class ReservationController {
         }
     }
 
+    private ResponseEntity<?> page(String userId, Long resourceId, LocalDateTime from, LocalDateTime to, String cursor, int limit) {
+        try {
+            BookingService.ReservationPage page = bookingService.listReservations(userId, resourceId, from, to, cursor,
+                    Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.nextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+            }
+            return response.body(page.reservations());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     public record ReserveRequest(@NotNull Long resourceId,
                                  @NotNull LocalDateTime startTime,
                                  @NotNull LocalDateTime endTime) {}
+
+    /**
+     * @param rrule e.g. FREQ=WEEKLY;BYDAY=TU;COUNT=16 (see RecurrenceRule for the supported subset)
+     */
+    public record RecurringRequest(@NotNull Long resourceId,
+                                   @NotNull LocalDateTime startTime,
+                                   @NotNull LocalDateTime endTime,
+                                   @NotBlank String rrule,
+                                   boolean skipConflicts) {}
 }
 
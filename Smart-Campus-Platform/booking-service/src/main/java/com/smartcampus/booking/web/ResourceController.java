@@ -1,14 +1,19 @@
 package com.smartcampus.booking.web;
 
 import com.smartcampus.booking.model.Resource;
+import com.smartcampus.booking.service.AvailabilityService;
 import com.smartcampus.booking.service.BookingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/resources")
@@ -16,6 +21,7 @@ import java.util.List;
 public class ResourceController {
 
     private final BookingService bookingService;
+    private final AvailabilityService availabilityService;
 
     @PostMapping
     @PreAuthorize("hasRole('FACULTY')")
@@ -28,6 +34,33 @@ public class ResourceController {
         return ResponseEntity.ok(bookingService.listResources());
     }
 
+    // granularity (minutes): return bookable slots of that length instead of the free gaps
+    @GetMapping("/{resourceId}/availability")
+    public ResponseEntity<?> availability(@PathVariable Long resourceId,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                          @RequestParam(required = false) Integer granularity) {
+        try {
+            return ResponseEntity.ok(availabilityService.forResource(resourceId, from, to, granularity));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // e.g. ?from=...T10:00&to=...T12:00&onlyAvailable=true - the rooms free for the whole window
+    @GetMapping("/availability")
+    public ResponseEntity<?> availability(@RequestParam(required = false) Set<Long> resourceIds,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                          @RequestParam(required = false) Integer granularity,
+                                          @RequestParam(defaultValue = "false") boolean onlyAvailable) {
+        try {
+            return ResponseEntity.ok(availabilityService.forResources(resourceIds, from, to, granularity, onlyAvailable));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @DeleteMapping("/{resourceId}")
     @PreAuthorize("hasRole('FACULTY')")
     public ResponseEntity<?> delete(@PathVariable Long resourceId) {
@@ -0,0 +1,79 @@
+package com.smartcampus.booking.service;
+
+import com.smartcampus.booking.repository.ReservationSlot;
+import com.smartcampus.booking.service.AvailabilityService.Interval;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AvailabilityServiceTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 9, 1, 0, 0);
+
+    @Test
+    void mergeJoinsTouchingAndOverlappingSlots() {
+        List<Interval> busy = AvailabilityService.merge(List.of(
+                slot(1L, 9, 0, 10, 0),
+                slot(2L, 10, 0, 11, 0),
+                slot(3L, 10, 30, 10, 45),
+                slot(4L, 13, 0, 14, 0)));
+
+        assertEquals(List.of(interval(9, 0, 11, 0), interval(13, 0, 14, 0)), busy);
+    }
+
+    @Test
+    void gapsCoverTheWindowAroundBusyIntervals() {
+        List<Interval> busy = List.of(interval(7, 0, 9, 0), interval(12, 0, 13, 0), interval(17, 0, 19, 0));
+
+        List<Interval> free = AvailabilityService.gaps(busy, at(8, 0), at(18, 0));
+
+        assertEquals(List.of(interval(9, 0, 12, 0), interval(13, 0, 17, 0)), free);
+    }
+
+    @Test
+    void gapsOfAnEmptyWindowIsTheWholeWindow() {
+        assertEquals(List.of(interval(8, 0, 18, 0)), AvailabilityService.gaps(List.of(), at(8, 0), at(18, 0)));
+    }
+
+    @Test
+    void freeSlotsTouchingABookingAreBusy() {
+        // Bounds are inclusive, so 9:00-10:00 conflicts with a booking starting at 10:00
+        List<Interval> busy = List.of(interval(10, 0, 11, 0));
+
+        List<Interval> free = AvailabilityService.freeSlots(busy, at(8, 0), at(13, 0), Duration.ofHours(1));
+
+        assertEquals(List.of(interval(8, 0, 9, 0), interval(12, 0, 13, 0)), free);
+    }
+
+    @Test
+    void freeSlotsDropATrailingPartialSlot() {
+        List<Interval> free = AvailabilityService.freeSlots(List.of(), at(8, 0), at(9, 45), Duration.ofMinutes(30));
+
+        assertEquals(List.of(interval(8, 0, 8, 30), interval(8, 30, 9, 0), interval(9, 0, 9, 30)), free);
+    }
+
+    @Test
+    void freeSlotsSkipPastEarlierBookings() {
+        List<Interval> busy = List.of(interval(6, 0, 7, 0), interval(8, 45, 9, 15), interval(20, 0, 21, 0));
+
+        List<Interval> free = AvailabilityService.freeSlots(busy, at(8, 0), at(10, 30), Duration.ofMinutes(30));
+
+        assertEquals(List.of(interval(8, 0, 8, 30), interval(9, 30, 10, 0), interval(10, 0, 10, 30)), free);
+    }
+
+    private static ReservationSlot slot(Long id, int startHour, int startMinute, int endHour, int endMinute) {
+        return new ReservationSlot(id, 1L, at(startHour, startMinute), at(endHour, endMinute));
+    }
+
+    private static Interval interval(int startHour, int startMinute, int endHour, int endMinute) {
+        return new Interval(at(startHour, startMinute), at(endHour, endMinute));
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.withHour(hour).withMinute(minute);
+    }
+}
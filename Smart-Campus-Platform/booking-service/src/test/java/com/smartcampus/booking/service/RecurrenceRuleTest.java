@@ -0,0 +1,103 @@
+package com.smartcampus.booking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RecurrenceRuleTest {
+
+    // A Tuesday
+    private static final LocalDateTime FIRST = LocalDateTime.of(2026, 9, 1, 10, 0);
+
+    @Test
+    void weeklyByDayFillsEachWeekFromTheFirstStart() {
+        List<LocalDateTime> starts = RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,TU,TH;COUNT=5").expand(FIRST, 100);
+
+        // Monday of the first week is before the first start and is not an occurrence
+        assertEquals(List.of(
+                LocalDateTime.of(2026, 9, 1, 10, 0),
+                LocalDateTime.of(2026, 9, 3, 10, 0),
+                LocalDateTime.of(2026, 9, 7, 10, 0),
+                LocalDateTime.of(2026, 9, 8, 10, 0),
+                LocalDateTime.of(2026, 9, 10, 10, 0)), starts);
+    }
+
+    @Test
+    void weeklyIntervalSkipsWeeks() {
+        List<LocalDateTime> starts = RecurrenceRule.parse("RRULE:FREQ=WEEKLY;INTERVAL=2;BYDAY=TU;COUNT=3").expand(FIRST, 100);
+
+        assertEquals(List.of(
+                LocalDateTime.of(2026, 9, 1, 10, 0),
+                LocalDateTime.of(2026, 9, 15, 10, 0),
+                LocalDateTime.of(2026, 9, 29, 10, 0)), starts);
+    }
+
+    @Test
+    void monthlySkipsMonthsWithoutTheDay() {
+        LocalDateTime first = LocalDateTime.of(2026, 1, 31, 9, 0);
+
+        List<LocalDateTime> starts = RecurrenceRule.parse("FREQ=MONTHLY;COUNT=4").expand(first, 100);
+
+        assertEquals(List.of(
+                LocalDateTime.of(2026, 1, 31, 9, 0),
+                LocalDateTime.of(2026, 3, 31, 9, 0),
+                LocalDateTime.of(2026, 5, 31, 9, 0),
+                LocalDateTime.of(2026, 7, 31, 9, 0)), starts);
+    }
+
+    @Test
+    void untilIsInclusiveAndDateOnlyMeansEndOfDay() {
+        List<LocalDateTime> starts = RecurrenceRule.parse("FREQ=DAILY;INTERVAL=2;UNTIL=20260905").expand(FIRST, 100);
+
+        assertEquals(List.of(
+                LocalDateTime.of(2026, 9, 1, 10, 0),
+                LocalDateTime.of(2026, 9, 3, 10, 0),
+                LocalDateTime.of(2026, 9, 5, 10, 0)), starts);
+    }
+
+    @Test
+    void untilBeforeTheStartTimeExcludesThatDay() {
+        List<LocalDateTime> starts = RecurrenceRule.parse("FREQ=DAILY;UNTIL=20260902T093000Z").expand(FIRST, 100);
+
+        assertEquals(List.of(FIRST), starts);
+    }
+
+    @Test
+    void countAndUntilAreExclusive() {
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;COUNT=3;UNTIL=20260905"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY"));
+    }
+
+    @Test
+    void moreOccurrencesThanMaxAreRejected() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY;COUNT=11");
+
+        assertEquals(10, RecurrenceRule.parse("FREQ=DAILY;COUNT=10").expand(FIRST, 10).size());
+        assertThrows(IllegalArgumentException.class, () -> rule.expand(FIRST, 10));
+    }
+
+    @Test
+    void invalidRulesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=YEARLY;COUNT=2"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;BYDAY=MO;COUNT=2"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=XX;COUNT=2"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;INTERVAL=0;COUNT=2"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;COUNT=abc"));
+    }
+
+    @Test
+    void hugeIntervalIsRejectedBeforeExpansion() {
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=MONTHLY;INTERVAL=2147483647;COUNT=2"));
+    }
+
+    @Test
+    void expansionPastTheDateRangeIsRejected() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY;INTERVAL=1000;COUNT=2");
+
+        assertThrows(IllegalArgumentException.class, () -> rule.expand(LocalDateTime.MAX.minusDays(10), 100));
+    }
+}
@@ -0,0 +1,163 @@
+package com.smartcampus.booking.service;
+
+import com.smartcampus.booking.repository.ReservationRepository;
+import com.smartcampus.booking.repository.ReservationSlot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ReservationIndexTest {
+
+    private static final Long RESOURCE = 1L;
+
+    private final LocalDateTime base = LocalDateTime.now().plusDays(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+    private ReservationRepository repository;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private ReservationIndex index;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ReservationRepository.class);
+        jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        index = new ReservationIndex(repository, jdbcTemplate, Duration.ofDays(30));
+    }
+
+    @Test
+    void inclusiveBoundsConflictBackToBack() {
+        load(slot(1L, 10, 12));
+
+        assertTrue(overlaps(at(12), at(13)));
+        assertTrue(overlaps(at(9), at(10)));
+        assertTrue(overlaps(at(11), at(11)));
+        assertFalse(overlaps(at(13), at(14)));
+        assertFalse(overlaps(at(8), at(9)));
+    }
+
+    @Test
+    void overlappingRowsAreMergedOnLoad() {
+        // A short row starting inside a long one used to shadow it in the floor lookup
+        load(slot(1L, 10, 16), slot(2L, 11, 12));
+
+        assertTrue(overlaps(at(14), at(15)));
+        assertFalse(overlaps(at(17), at(18)));
+    }
+
+    @Test
+    void removingAMergedMemberKeepsTheOthers() {
+        load(slot(1L, 10, 16), slot(2L, 11, 12), slot(3L, 15, 18));
+
+        index.write(RESOURCE, slots -> {
+            slots.remove(1L, at(10));
+            return null;
+        });
+
+        assertFalse(overlaps(at(13), at(14)));
+        assertTrue(overlaps(at(11), at(11)));
+        assertTrue(overlaps(at(17), at(17)));
+    }
+
+    @Test
+    void addingTheSameReservationTwiceIsIgnored() {
+        load(slot(1L, 10, 12));
+
+        index.write(RESOURCE, slots -> {
+            slots.add(1L, at(10), at(12));
+            slots.remove(1L, at(10));
+            return null;
+        });
+
+        assertFalse(overlaps(at(11), at(11)));
+    }
+
+    @Test
+    void staleHitIsRepairedFromPostgres() {
+        load(slot(1L, 10, 12));
+        // Cancelled elsewhere and the event never arrived
+        postgresHas();
+
+        assertFalse(conflicts(at(11), at(13)));
+        assertFalse(overlaps(at(11), at(13)));
+    }
+
+    @Test
+    void confirmedHitIsReported() {
+        load(slot(1L, 10, 12));
+        postgresHas(slot(1L, 10, 12));
+
+        assertTrue(conflicts(at(11), at(13)));
+    }
+
+    @Test
+    void confirmOnlyRepairsTheQueriedWindow() {
+        load(slot(1L, 10, 12), slot(2L, 20, 22));
+        // Postgres answers for the window only: 1 is gone, 3 was missed; 2 is outside and kept
+        postgresHas(slot(3L, 12, 13));
+
+        assertTrue(conflicts(at(11), at(13)));
+        assertFalse(overlaps(at(10), at(11)));
+        assertTrue(overlaps(at(21), at(21)));
+        verify(repository, never()).findSlots(any(), any());
+    }
+
+    @Test
+    void missOnlyReadsTheIndex() {
+        load(slot(1L, 10, 12));
+
+        assertFalse(conflicts(at(13), at(14)));
+        verifyNoInteractions(jdbcTemplate);
+        verify(repository, never()).findSlots(any(), any());
+    }
+
+    @Test
+    void unknownResourceIsLoadedOnFirstWrite() {
+        when(repository.findSlots(eq(RESOURCE), any())).thenReturn(List.of(slot(1L, 10, 12)));
+
+        assertTrue(overlaps(at(11), at(11)));
+        assertTrue(overlaps(at(11), at(11)));
+        verify(repository, times(1)).findSlots(eq(RESOURCE), any());
+    }
+
+    private boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return index.write(RESOURCE, slots -> slots.overlaps(start, end));
+    }
+
+    private boolean conflicts(LocalDateTime start, LocalDateTime end) {
+        return index.write(RESOURCE, slots -> slots.conflicts(start, end));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void postgresHas(ReservationSlot... slots) {
+        when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class))).thenReturn(List.of(slots));
+    }
+
+    private void load(ReservationSlot... slots) {
+        when(repository.findSlotsEndingAfter(any())).thenReturn(List.of(slots));
+        index.warmUp();
+    }
+
+    private ReservationSlot slot(Long id, int startHour, int endHour) {
+        return new ReservationSlot(id, RESOURCE, at(startHour), at(endHour));
+    }
+
+    private LocalDateTime at(int hour) {
+        return base.plusHours(hour);
+    }
+}
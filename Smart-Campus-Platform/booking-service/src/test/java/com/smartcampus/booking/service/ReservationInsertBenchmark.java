@@ -0,0 +1,164 @@
+package com.smartcampus.booking.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking throughput on a single hot resource with 8 concurrent clients: the original
+ * check-then-insert under SELECT ... FOR UPDATE against a plain INSERT guarded by the
+ * reservations_no_overlap exclusion constraint. Each operation books a random one-hour slot
+ * within a year, so a growing share of attempts conflict; a rejected booking counts as done.
+ * The locking variant locks nothing while no row overlaps yet, so it can also double-book.
+ * Uses scratch tables next to the real ones. Needs the booking Postgres (docker-compose up -d booking-db),
+ * -Dbench.url/-Dbench.user/-Dbench.password override the connection. Run with:
+ * mvn -pl booking-service -am test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.smartcampus.booking.service.ReservationInsertBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class ReservationInsertBenchmark {
+
+    private static final long RESOURCE_ID = 1;
+    private static final String TENANT = "default";
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final int SLOT_MINUTES = 60;
+    private static final int RANGE_MINUTES = 365 * 24 * 60;
+
+    private static final String LOCKED_CONFLICTS = "SELECT id FROM bench_reservations_locked "
+            + "WHERE resource_id = ? AND tenant_id = ? AND start_time <= ? AND end_time >= ? FOR UPDATE";
+    private static final String LOCKED_INSERT = "INSERT INTO bench_reservations_locked "
+            + "(resource_id, tenant_id, user_id, start_time, end_time) VALUES (?, ?, ?, ?, ?)";
+    private static final String EXCLUDED_INSERT = "INSERT INTO bench_reservations_excluded "
+            + "(resource_id, tenant_id, user_id, start_time, end_time) VALUES (?, ?, ?, ?, ?)";
+
+    @State(Scope.Benchmark)
+    public static class Schema {
+
+        @Setup(Level.Trial)
+        public void create() throws SQLException {
+            try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+                statement.execute("CREATE EXTENSION IF NOT EXISTS btree_gist");
+                statement.execute("DROP TABLE IF EXISTS bench_reservations_locked, bench_reservations_excluded");
+                statement.execute("CREATE TABLE bench_reservations_locked (id BIGSERIAL PRIMARY KEY, "
+                        + "resource_id BIGINT NOT NULL, tenant_id VARCHAR(255) NOT NULL, user_id VARCHAR(255) NOT NULL, "
+                        + "start_time TIMESTAMP NOT NULL, end_time TIMESTAMP NOT NULL)");
+                statement.execute("CREATE INDEX ON bench_reservations_locked (resource_id, start_time)");
+                statement.execute("CREATE TABLE bench_reservations_excluded (id BIGSERIAL PRIMARY KEY, "
+                        + "resource_id BIGINT NOT NULL, tenant_id VARCHAR(255) NOT NULL, user_id VARCHAR(255) NOT NULL, "
+                        + "start_time TIMESTAMP NOT NULL, end_time TIMESTAMP NOT NULL, "
+                        + "period tsrange GENERATED ALWAYS AS (tsrange(start_time, end_time, '[]')) STORED, "
+                        + "EXCLUDE USING gist (resource_id WITH =, tenant_id WITH =, period WITH &&))");
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void drop() throws SQLException {
+            try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS bench_reservations_locked, bench_reservations_excluded");
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        Connection connection;
+
+        @Setup(Level.Trial)
+        public void open(Schema schema) throws SQLException {
+            connection = connect();
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public boolean lockingCheckThenInsert(Client client) throws SQLException {
+        Connection connection = client.connection;
+        Timestamp[] slot = randomSlot();
+        connection.setAutoCommit(false);
+        try {
+            try (PreparedStatement select = connection.prepareStatement(LOCKED_CONFLICTS)) {
+                select.setLong(1, RESOURCE_ID);
+                select.setString(2, TENANT);
+                select.setTimestamp(3, slot[1]);
+                select.setTimestamp(4, slot[0]);
+                try (ResultSet conflicts = select.executeQuery()) {
+                    if (conflicts.next()) {
+                        connection.rollback();
+                        return false;
+                    }
+                }
+            }
+            try (PreparedStatement insert = connection.prepareStatement(LOCKED_INSERT)) {
+                bind(insert, slot);
+                insert.executeUpdate();
+            }
+            connection.commit();
+            return true;
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    @Benchmark
+    public boolean exclusionConstraintInsert(Client client) throws SQLException {
+        Timestamp[] slot = randomSlot();
+        try (PreparedStatement insert = client.connection.prepareStatement(EXCLUDED_INSERT)) {
+            bind(insert, slot);
+            insert.executeUpdate();
+            return true;
+        } catch (SQLException e) {
+            if ("23P01".equals(e.getSQLState())) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    private static void bind(PreparedStatement insert, Timestamp[] slot) throws SQLException {
+        insert.setLong(1, RESOURCE_ID);
+        insert.setString(2, TENANT);
+        insert.setString(3, "student");
+        insert.setTimestamp(4, slot[0]);
+        insert.setTimestamp(5, slot[1]);
+    }
+
+    private static Timestamp[] randomSlot() {
+        LocalDateTime start = EPOCH.plusMinutes(ThreadLocalRandom.current().nextInt(RANGE_MINUTES));
+        return new Timestamp[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusMinutes(SLOT_MINUTES))};
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(
+                System.getProperty("bench.url", "jdbc:postgresql://localhost:5434/bookingdb"),
+                System.getProperty("bench.user", "booking"),
+                System.getProperty("bench.password", "booking"));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ReservationInsertBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -1,5 +1,8 @@
 package com.smartcampus.exam.config;
 
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -13,11 +16,25 @@ public class RabbitConfig {
 
     public static final String EXAM_EVENTS_QUEUE = "exam.events";
 
+    // Published to a fanout exchange of the same name so other consumers (e.g. the gateway
+    // response cache) get their own copy without taking messages from this queue
+    public static final String EXAM_EVENTS_EXCHANGE = "exam.events";
+
     @Bean
     public Queue examEventsQueue() {
         return new Queue(EXAM_EVENTS_QUEUE, true); // durable = true
     }
 
+    @Bean
+    public FanoutExchange examEventsExchange() {
+        return new FanoutExchange(EXAM_EVENTS_EXCHANGE, true, false);
+    }
+
+    @Bean
+    public Binding examEventsBinding() {
+        return BindingBuilder.bind(examEventsQueue()).to(examEventsExchange());
+    }
+
     @Bean
     public MessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
@@ -1,6 +1,8 @@
 package com.smartcampus.exam.config;
 
-import com.smartcampus.exam.security.JwtAuthenticationFilter;
+import com.smartcampus.common.security.IdentityHeaderCodec;
+import com.smartcampus.common.security.JwtAuthenticationFilter;
+import com.smartcampus.common.security.JwtVerifier;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,7 +16,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @EnableMethodSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
-    private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final JwtVerifier jwtVerifier;
+    private final IdentityHeaderCodec identityHeaderCodec;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -24,7 +27,8 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/actuator/health").permitAll()
                         .anyRequest().authenticated())
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(new JwtAuthenticationFilter(jwtVerifier, identityHeaderCodec),
+                        UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
 }
@@ -1,5 +1,6 @@
 package com.smartcampus.exam.messaging;
 
+import com.smartcampus.exam.config.RabbitConfig;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -13,7 +14,6 @@ import java.util.Map;
 public class ExamEventPublisher {
     
     private final RabbitTemplate rabbitTemplate;
-    private static final String EXAM_EVENTS_QUEUE = "exam.events";
 
     public void publish(String eventType, Map<String, Object> payload) {
         try {
@@ -22,7 +22,7 @@ public class ExamEventPublisher {
                     "payload", payload,
                     "timestamp", System.currentTimeMillis()
             );
-            rabbitTemplate.convertAndSend(EXAM_EVENTS_QUEUE, message);
+            rabbitTemplate.convertAndSend(RabbitConfig.EXAM_EVENTS_EXCHANGE, "", message);
             log.info("Published exam event: {} with payload: {}", eventType, payload);
         } catch (Exception e) {
             log.error("Failed to publish exam event: {}", eventType, e);
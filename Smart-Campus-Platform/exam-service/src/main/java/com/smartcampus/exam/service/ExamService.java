@@ -1,10 +1,10 @@
 package com.smartcampus.exam.service;
 
+import com.smartcampus.common.tenant.TenantContext;
 import com.smartcampus.exam.client.NotificationClient;
 import com.smartcampus.exam.messaging.ExamEventPublisher;
 import com.smartcampus.exam.model.*;
 import com.smartcampus.exam.repository.*;
-import com.smartcampus.exam.tenant.TenantContext;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
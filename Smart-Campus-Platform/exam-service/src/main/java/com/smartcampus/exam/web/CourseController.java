@@ -1,5 +1,6 @@
 package com.smartcampus.exam.web;
 
+import com.smartcampus.common.security.AuthenticatedPrincipal;
 import com.smartcampus.exam.model.Course;
 import com.smartcampus.exam.service.ExamService;
 import jakarta.validation.Valid;
@@ -7,7 +8,7 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -21,8 +22,9 @@ public class CourseController {
 
     @PostMapping
     @PreAuthorize("hasAnyRole('FACULTY','TEACHER')")
-    public ResponseEntity<Course> create(@RequestBody @Valid CreateCourseRequest request, Authentication authentication) {
-        return ResponseEntity.ok(examService.createCourse(request.title(), request.description(), authentication.getName()));
+    public ResponseEntity<Course> create(@RequestBody @Valid CreateCourseRequest request,
+                                         @AuthenticationPrincipal AuthenticatedPrincipal principal) {
+        return ResponseEntity.ok(examService.createCourse(request.title(), request.description(), principal.username()));
     }
 
     @GetMapping
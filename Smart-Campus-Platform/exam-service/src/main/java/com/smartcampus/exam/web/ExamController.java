@@ -1,5 +1,6 @@
 package com.smartcampus.exam.web;
 
+import com.smartcampus.common.security.AuthenticatedPrincipal;
 import com.smartcampus.exam.model.*;
 import com.smartcampus.exam.service.ExamService;
 import jakarta.validation.Valid;
@@ -8,7 +9,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
@@ -28,12 +29,10 @@ public class ExamController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Exam>> list(Authentication authentication) {
+    public ResponseEntity<List<Exam>> list(@AuthenticationPrincipal AuthenticatedPrincipal principal) {
         // Check if user is a teacher - if so, only show their exams
-        if (authentication != null && 
-            authentication.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_TEACHER"))) {
-            return ResponseEntity.ok(examService.listExamsForTeacher(authentication.getName()));
+        if (principal != null && "TEACHER".equals(principal.role())) {
+            return ResponseEntity.ok(examService.listExamsForTeacher(principal.username()));
         }
         // For students and faculty, show all exams
         return ResponseEntity.ok(examService.listExams());
@@ -42,10 +41,10 @@ public class ExamController {
     @PostMapping("/{id}/start")
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<?> start(@PathVariable Long id,
-                                    Authentication authentication,
+                                    @AuthenticationPrincipal AuthenticatedPrincipal principal,
                                     @RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader) {
         try {
-            ExamAttempt attempt = examService.startExam(id, authentication.getName(), authHeader);
+            ExamAttempt attempt = examService.startExam(id, principal.username(), authHeader);
             return ResponseEntity.ok(attempt);
         } catch (IllegalStateException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -62,9 +61,9 @@ public class ExamController {
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<ExamAttempt> submitAnswers(@PathVariable Long attemptId,
                                                       @RequestBody @Valid SubmitAnswersRequest request,
-                                                      Authentication authentication) {
+                                                      @AuthenticationPrincipal AuthenticatedPrincipal principal) {
         try {
-            ExamAttempt result = examService.submitAnswers(attemptId, request.answers(), authentication.getName());
+            ExamAttempt result = examService.submitAnswers(attemptId, request.answers(), principal.username());
             return ResponseEntity.ok(result);
         } catch (IllegalStateException | IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
@@ -73,9 +72,10 @@ public class ExamController {
 
     @GetMapping("/attempts/{attemptId}/result")
     @PreAuthorize("hasRole('STUDENT')")
-    public ResponseEntity<?> getResult(@PathVariable Long attemptId, Authentication authentication) {
+    public ResponseEntity<?> getResult(@PathVariable Long attemptId,
+                                       @AuthenticationPrincipal AuthenticatedPrincipal principal) {
         try {
-            ExamAttempt attempt = examService.getAttemptResult(attemptId, authentication.getName());
+            ExamAttempt attempt = examService.getAttemptResult(attemptId, principal.username());
             List<StudentAnswer> answers = examService.getStudentAnswers(attemptId);
             return ResponseEntity.ok(Map.of("attempt", attempt, "answers", answers));
         } catch (IllegalStateException | IllegalArgumentException e) {
@@ -1,8 +1,8 @@
 package com.smartcampus.iot.service;
 
+import com.smartcampus.common.tenant.TenantContext;
 import com.smartcampus.iot.model.ShuttleLocation;
 import com.smartcampus.iot.model.TemperatureReading;
-import com.smartcampus.iot.tenant.TenantContext;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
@@ -1,14 +1,39 @@
 package com.smartcampus.marketplace.config;
 
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class MessagingConfig {
+
+    // Published to a fanout exchange of the same name so other consumers (e.g. the gateway
+    // response cache) get their own copy without taking messages from this queue
+    public static final String TICKET_EVENTS_EXCHANGE = "ticket.events";
+
     @Bean
     public Queue ticketEventsQueue() {
         return new Queue("ticket.events", true);
     }
-}
 
+    @Bean
+    public FanoutExchange ticketEventsExchange() {
+        return new FanoutExchange(TICKET_EVENTS_EXCHANGE, true, false);
+    }
+
+    @Bean
+    public Binding ticketEventsBinding() {
+        return BindingBuilder.bind(ticketEventsQueue()).to(ticketEventsExchange());
+    }
+
+    // Consumers read JSON; without this the auto-configured template would Java-serialize the map
+    @Bean
+    public MessageConverter jsonMessageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+}
@@ -1,5 +1,6 @@
 package com.smartcampus.marketplace.messaging;
 
+import com.smartcampus.marketplace.config.MessagingConfig;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -12,7 +13,6 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class TicketEventPublisher {
     private final RabbitTemplate rabbitTemplate;
-    private static final String TICKET_EVENTS_QUEUE = "ticket.events";
 
     public void publish(String eventType, Map<String, Object> payload) {
         try {
@@ -21,7 +21,7 @@ public class TicketEventPublisher {
                     "payload", payload,
                     "timestamp", System.currentTimeMillis()
             );
-            rabbitTemplate.convertAndSend(TICKET_EVENTS_QUEUE, message);
+            rabbitTemplate.convertAndSend(MessagingConfig.TICKET_EVENTS_EXCHANGE, "", message);
             log.info("Published ticket event: {} with payload: {}", eventType, payload);
         } catch (Exception e) {
             log.error("Failed to publish ticket event: {}", eventType, e);
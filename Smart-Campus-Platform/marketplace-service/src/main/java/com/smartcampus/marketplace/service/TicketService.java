@@ -1,10 +1,10 @@
 package com.smartcampus.marketplace.service;
 
+import com.smartcampus.common.tenant.TenantContext;
 import com.smartcampus.marketplace.messaging.TicketEventPublisher;
 import com.smartcampus.marketplace.model.Ticket;
 import com.smartcampus.marketplace.model.TicketType;
 import com.smartcampus.marketplace.repository.TicketRepository;
-import com.smartcampus.marketplace.tenant.TenantContext;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -1,5 +1,6 @@
 package com.smartcampus.marketplace.web;
 
+import com.smartcampus.common.security.AuthenticatedPrincipal;
 import com.smartcampus.marketplace.model.Ticket;
 import com.smartcampus.marketplace.model.TicketType;
 import com.smartcampus.marketplace.service.TicketService;
@@ -10,7 +11,7 @@ import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
@@ -25,9 +26,10 @@ public class TicketController {
 
     @PostMapping
     @PreAuthorize("hasRole('FACULTY')")
-    public ResponseEntity<Ticket> create(@RequestBody @Valid CreateTicketRequest request, Authentication authentication) {
+    public ResponseEntity<Ticket> create(@RequestBody @Valid CreateTicketRequest request,
+                                         @AuthenticationPrincipal AuthenticatedPrincipal principal) {
         Ticket saved = ticketService.create(request.title(), request.description(), request.type(),
-                request.price(), request.inventory(), request.assignedTeacher(), authentication.getName());
+                request.price(), request.inventory(), request.assignedTeacher(), principal.username());
         return ResponseEntity.ok(saved);
     }
 
@@ -38,8 +40,8 @@ public class TicketController {
 
     @GetMapping("/my")
     @PreAuthorize("hasRole('TEACHER')")
-    public ResponseEntity<List<Ticket>> myTickets(Authentication authentication) {
-        return ResponseEntity.ok(ticketService.listByTeacher(authentication.getName()));
+    public ResponseEntity<List<Ticket>> myTickets(@AuthenticationPrincipal AuthenticatedPrincipal principal) {
+        return ResponseEntity.ok(ticketService.listByTeacher(principal.username()));
     }
 
     @DeleteMapping("/{ticketId}")
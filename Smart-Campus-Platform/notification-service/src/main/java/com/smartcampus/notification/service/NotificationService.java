@@ -1,8 +1,8 @@
 package com.smartcampus.notification.service;
 
+import com.smartcampus.common.tenant.TenantContext;
 import com.smartcampus.notification.model.Notification;
 import com.smartcampus.notification.repository.NotificationRepository;
-import com.smartcampus.notification.tenant.TenantContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
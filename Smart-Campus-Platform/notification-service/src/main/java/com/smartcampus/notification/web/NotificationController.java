@@ -1,5 +1,6 @@
 package com.smartcampus.notification.web;
 
+import com.smartcampus.common.security.AuthenticatedPrincipal;
 import com.smartcampus.notification.model.Notification;
 import com.smartcampus.notification.service.NotificationService;
 import jakarta.validation.Valid;
@@ -7,6 +8,7 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -30,8 +32,8 @@ public class NotificationController {
     }
 
     @GetMapping("/my")
-    public ResponseEntity<List<Notification>> myNotifications(org.springframework.security.core.Authentication authentication) {
-        String username = authentication.getName();
+    public ResponseEntity<List<Notification>> myNotifications(@AuthenticationPrincipal AuthenticatedPrincipal principal) {
+        String username = principal.username();
         return ResponseEntity.ok(notificationService.forUser(username));
     }
 
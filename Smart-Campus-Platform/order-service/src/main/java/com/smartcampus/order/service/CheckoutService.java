@@ -1,11 +1,11 @@
 package com.smartcampus.order.service;
 
+import com.smartcampus.common.tenant.TenantContext;
 import com.smartcampus.order.messaging.OrderEventPublisher;
 import com.smartcampus.order.model.Order;
 import com.smartcampus.order.model.OrderItem;
 import com.smartcampus.order.model.OrderStatus;
 import com.smartcampus.order.repository.OrderRepository;
-import com.smartcampus.order.tenant.TenantContext;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -1,17 +1,18 @@
 package com.smartcampus.order.web;
 
+import com.smartcampus.common.security.AuthenticatedPrincipal;
+import com.smartcampus.common.tenant.TenantContext;
 import com.smartcampus.order.model.Order;
 import com.smartcampus.order.repository.OrderRepository;
 import com.smartcampus.order.service.CheckoutService;
 import com.smartcampus.order.service.CheckoutService.ItemRequest;
-import com.smartcampus.order.tenant.TenantContext;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -27,12 +28,12 @@ public class OrderController {
 
     @PostMapping("/checkout")
     public ResponseEntity<Order> checkout(@RequestBody @Valid CheckoutRequest request,
-                                          Authentication authentication,
+                                          @AuthenticationPrincipal AuthenticatedPrincipal principal,
                                           @RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader) {
         List<ItemRequest> items = request.items().stream()
                 .map(i -> new ItemRequest(i.ticketId(), i.quantity()))
                 .collect(Collectors.toList());
-        Order order = checkoutService.checkout(authentication.getName(), items, authHeader);
+        Order order = checkoutService.checkout(principal.username(), items, authHeader);
         return ResponseEntity.ok(order);
     }
 
@@ -42,9 +43,9 @@ public class OrderController {
     }
 
     @GetMapping("/my")
-    public ResponseEntity<List<Order>> myOrders(Authentication authentication) {
-        String userId = authentication.getName();
-        String tenantId = TenantContext.getTenantId();
+    public ResponseEntity<List<Order>> myOrders(@AuthenticationPrincipal AuthenticatedPrincipal principal) {
+        String userId = principal.username();
+        String tenantId = principal.tenantId();
         return ResponseEntity.ok(orderRepository.findByUserIdAndTenantId(userId, tenantId));
     }
 
@@ -0,0 +1,34 @@
+package com.smartcampus.common.autoconfigure;
+
+import com.smartcampus.common.security.IdentityHeaderCodec;
+import com.smartcampus.common.security.JwtVerifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+
+/**
+ * Registers the shared JwtVerifier (from app.jwt.secret) and IdentityHeaderCodec (from app.identity.*)
+ * in every service that depends on smartcampus-common.
+ */
+@AutoConfiguration
+public class SmartCampusSecurityAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "app.jwt.secret")
+    public JwtVerifier jwtVerifier(@Value("${app.jwt.secret}") String secret) {
+        return new JwtVerifier(secret);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public IdentityHeaderCodec identityHeaderCodec(@Value("${app.identity.enabled:false}") boolean enabled,
+                                                   @Value("${app.identity.secret:}") String secret,
+                                                   @Value("${app.identity.ttl:60s}") Duration ttl) {
+        return new IdentityHeaderCodec(enabled, secret, ttl);
+    }
+}
@@ -0,0 +1,19 @@
+package com.smartcampus.common.security;
+
+import java.security.Principal;
+import java.time.Instant;
+
+/**
+ * Identity established once per request, from a verified JWT or a gateway-signed identity header.
+ * Used as the Spring Security principal and held by TenantContext.
+ */
+public record AuthenticatedPrincipal(String username,
+                                     String role,
+                                     String tenantId,
+                                     Instant expiresAt) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -0,0 +1,110 @@
+package com.smartcampus.common.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Compact internal identity header (X-Identity) signed by api-gateway once it has verified the JWT.
+ * Format: b64(user).b64(role).b64(tenant).expEpochSeconds.b64(mac), where mac is a truncated
+ * HMAC-SHA256 over everything before the last dot. Services holding the same app.identity.secret
+ * trust it instead of re-verifying the JWT; anything invalid falls back to the Bearer token.
+ */
+public class IdentityHeaderCodec {
+
+    public static final String HEADER = "X-Identity";
+
+    private static final int MAC_BYTES = 16;
+    private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder B64_DECODER = Base64.getUrlDecoder();
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final ThreadLocal<Mac> mac;
+
+    public IdentityHeaderCodec(boolean enabled, String base64Secret, Duration ttl) {
+        this.enabled = enabled;
+        this.ttl = ttl;
+        if (enabled && (base64Secret == null || base64Secret.isBlank())) {
+            throw new IllegalStateException("app.identity.secret must be set when app.identity.enabled=true");
+        }
+        SecretKeySpec key = enabled ? new SecretKeySpec(Base64.getDecoder().decode(base64Secret), "HmacSHA256") : null;
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac m = Mac.getInstance("HmacSHA256");
+                m.init(key);
+                return m;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Cannot initialise identity MAC", e);
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Builds the header value. Expiry is the earlier of the token's expiry and now + ttl,
+     * so a captured header is never more useful than the token it came from.
+     */
+    public String sign(AuthenticatedPrincipal principal) {
+        long exp = Instant.now().plus(ttl).getEpochSecond();
+        if (principal.expiresAt() != null) {
+            exp = Math.min(exp, principal.expiresAt().getEpochSecond());
+        }
+        String payload = encode(principal.username()) + "." + encode(principal.role()) + "."
+                + encode(principal.tenantId()) + "." + exp;
+        return payload + "." + B64.encodeToString(mac(payload));
+    }
+
+    /**
+     * Returns the principal carried by a valid, unexpired header, or null if the mode is off
+     * or the header is missing, malformed, forged or expired.
+     */
+    public AuthenticatedPrincipal verify(String header) {
+        if (!enabled || header == null) {
+            return null;
+        }
+        int macStart = header.lastIndexOf('.');
+        if (macStart < 0) {
+            return null;
+        }
+        String payload = header.substring(0, macStart);
+        try {
+            byte[] actual = B64_DECODER.decode(header.substring(macStart + 1));
+            if (!MessageDigest.isEqual(mac(payload), actual)) {
+                return null;
+            }
+            String[] parts = payload.split("\\.", -1);
+            if (parts.length != 4) {
+                return null;
+            }
+            Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(parts[3]));
+            if (!Instant.now().isBefore(expiresAt)) {
+                return null;
+            }
+            return new AuthenticatedPrincipal(decode(parts[0]), decode(parts[1]), decode(parts[2]), expiresAt);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private byte[] mac(String payload) {
+        return Arrays.copyOf(mac.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII)), MAC_BYTES);
+    }
+
+    private static String encode(String value) {
+        return value == null ? "" : B64.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String value) {
+        return value.isEmpty() ? null : new String(B64_DECODER.decode(value), StandardCharsets.UTF_8);
+    }
+}
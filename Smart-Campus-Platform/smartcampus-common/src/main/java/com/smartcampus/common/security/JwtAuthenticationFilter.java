@@ -1,30 +1,37 @@
-package com.smartcampus.booking.security;
+package com.smartcampus.common.security;
 
-import com.smartcampus.booking.service.JwtService;
-import com.smartcampus.booking.tenant.TenantContext;
+import com.smartcampus.common.tenant.TenantContext;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
-import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
+/**
+ * Shared authentication and tenant-context filter for the servlet services.
+ * Establishes the AuthenticatedPrincipal once per request - from the gateway-signed identity header
+ * when enabled and valid, otherwise from a full JWT verification - and exposes it through both the
+ * SecurityContext and TenantContext for the duration of the request.
+ */
 @Slf4j
-@Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtService jwtService;
+    private final JwtVerifier jwtVerifier;
+    private final IdentityHeaderCodec identityHeaderCodec;
+
+    public JwtAuthenticationFilter(JwtVerifier jwtVerifier, IdentityHeaderCodec identityHeaderCodec) {
+        this.jwtVerifier = jwtVerifier;
+        this.identityHeaderCodec = identityHeaderCodec;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -32,38 +39,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         log.debug("JWT Filter - Path: {}", request.getRequestURI());
         final String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
-        log.debug("JWT Filter - Auth Header: {}", (authHeader != null ? "Present" : "Missing"));
+        // Identity already verified and signed by the gateway; direct calls fall back to the JWT
+        AuthenticatedPrincipal trusted = identityHeaderCodec.verify(request.getHeader(IdentityHeaderCodec.HEADER));
         
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+        if (trusted == null && (authHeader == null || !authHeader.startsWith("Bearer "))) {
             log.debug("JWT Filter - No valid Bearer token, continuing...");
             filterChain.doFilter(request, response);
             return;
         }
         
         try {
-            final String jwt = authHeader.substring(7);
-            String username = jwtService.extractUsername(jwt);
-            log.debug("JWT Filter - Extracted username: {}", username);
-            
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                String role = jwtService.extractRole(jwt);
-                log.debug("JWT Filter - Extracted role: {}", role);
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                AuthenticatedPrincipal principal = trusted != null
+                        ? trusted
+                        : jwtVerifier.authenticate(authHeader.substring(7));
                 
-                UserDetails userDetails = User.builder()
-                        .username(username)
-                        .password("")
-                        .authorities("ROLE_" + role)
-                        .build();
-                        
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                if (principal.username() != null) {
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                            principal, null, List.of(new SimpleGrantedAuthority("ROLE_" + principal.role())));
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
-                    TenantContext.setTenantId(jwtService.extractTenant(jwt));
-                    log.debug("JWT Filter - Authentication successful for: {}", username);
+                    TenantContext.setPrincipal(principal);
+                    log.debug("JWT Filter - Authentication successful for: {}", principal.username());
                 } else {
-                    log.warn("JWT Filter - Token validation failed!");
+                    log.warn("JWT Filter - Token has no subject!");
                 }
             }
         } catch (Exception e) {
@@ -77,4 +76,3 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
     }
 }
-
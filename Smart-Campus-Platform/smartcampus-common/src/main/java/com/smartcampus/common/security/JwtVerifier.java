@@ -0,0 +1,54 @@
+package com.smartcampus.common.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+import java.security.Key;
+import java.util.Date;
+
+/**
+ * Verifies JWTs issued by auth-service. The HMAC key and the parser are immutable and
+ * thread-safe, so they are built once and a verification is a single signature check.
+ */
+public class JwtVerifier {
+
+    private final Key signingKey;
+    private final JwtParser parser;
+
+    public JwtVerifier(String base64Secret) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
+    /**
+     * The shared HMAC key, for the issuer side (auth-service) to sign with.
+     */
+    public Key getSigningKey() {
+        return signingKey;
+    }
+
+    /**
+     * Verifies signature and expiry; throws JwtException if either check fails.
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    public AuthenticatedPrincipal authenticate(String token) {
+        return toPrincipal(parseClaims(token));
+    }
+
+    public static AuthenticatedPrincipal toPrincipal(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return new AuthenticatedPrincipal(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.get("tenantId", String.class),
+                expiration != null ? expiration.toInstant() : null);
+    }
+}
@@ -0,0 +1,29 @@
+package com.smartcampus.common.tenant;
+
+import com.smartcampus.common.security.AuthenticatedPrincipal;
+
+/**
+ * Request-scoped holder for the authenticated principal; the tenant id is read from it.
+ */
+public final class TenantContext {
+    private static final ThreadLocal<AuthenticatedPrincipal> PRINCIPAL = new ThreadLocal<>();
+
+    private TenantContext() {}
+
+    public static void setPrincipal(AuthenticatedPrincipal principal) {
+        PRINCIPAL.set(principal);
+    }
+
+    public static AuthenticatedPrincipal getPrincipal() {
+        return PRINCIPAL.get();
+    }
+
+    public static String getTenantId() {
+        AuthenticatedPrincipal principal = PRINCIPAL.get();
+        return principal != null ? principal.tenantId() : null;
+    }
+
+    public static void clear() {
+        PRINCIPAL.remove();
+    }
+}
@@ -0,0 +1,85 @@
+package com.smartcampus.common.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authentication cost in the services: the original four-parse filter path,
+ * a single JwtVerifier verification, and the gateway-signed identity header check.
+ * Run with:
+ * mvn -pl smartcampus-common test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.smartcampus.common.security.JwtVerifierBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerifierBenchmark {
+
+    private static final String SECRET = "TXlfU21hcnRDYW1wdXNfU2VjcmV0X0tleTEyMzQ1Njc4OTAxMjM0NTY3OA==";
+
+    private JwtVerifier verifier;
+    private IdentityHeaderCodec identityCodec;
+    private String token;
+    private String identityHeader;
+
+    @Setup
+    public void setup() {
+        verifier = new JwtVerifier(SECRET);
+        identityCodec = new IdentityHeaderCodec(true, SECRET, Duration.ofHours(1));
+        token = Jwts.builder()
+                .setClaims(Map.of("role", "STUDENT", "tenantId", "default"))
+                .setSubject("student")
+                .setIssuedAt(new Date())
+                .setExpiration(Date.from(Instant.now().plusSeconds(60 * 60)))
+                .signWith(verifier.getSigningKey(), SignatureAlgorithm.HS256)
+                .compact();
+        identityHeader = identityCodec.sign(verifier.authenticate(token));
+    }
+
+    @Benchmark
+    public void perClaimParsing(Blackhole bh) {
+        // extractUsername, extractRole, isTokenValid, extractTenant - one key build and verify each
+        bh.consume(legacyParse().getSubject());
+        bh.consume(legacyParse().get("role"));
+        bh.consume(legacyParse().getSubject());
+        bh.consume(legacyParse().get("tenantId"));
+    }
+
+    @Benchmark
+    public AuthenticatedPrincipal singleParse() {
+        return verifier.authenticate(token);
+    }
+
+    @Benchmark
+    public AuthenticatedPrincipal identityHeader() {
+        return identityCodec.verify(identityHeader);
+    }
+
+    private Claims legacyParse() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtVerifierBenchmark.class.getSimpleName()).build()).run();
+    }
+}